@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iconloop.score.test;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import score.Address;
+import score.Context;
+import score.DictDB;
+import score.ObjectReader;
+import score.ObjectWriter;
+import score.VarDB;
+import score.annotation.External;
+import score.annotation.Payable;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for transactions and queries handled by {@link ServiceManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceManagerBenchmark {
+    private static final int kMaxDepth = 16;
+
+    public static class Token {
+        private final DictDB<Address, BigInteger> balances =
+                Context.newDictDB("balances", BigInteger.class);
+
+        public Token(BigInteger supply) {
+            balances.set(Context.getCaller(), supply);
+        }
+
+        @External(readonly = true)
+        public BigInteger balanceOf(Address owner) {
+            return balances.getOrDefault(owner, BigInteger.ZERO);
+        }
+
+        @External
+        public void transfer(Address to, BigInteger value) {
+            var from = Context.getCaller();
+            var balance = balanceOf(from);
+            Context.require(balance.compareTo(value) >= 0, "insufficient balance");
+            balances.set(from, balance.subtract(value));
+            balances.set(to, balanceOf(to).add(value));
+            Context.logEvent(new Object[]{"Transfer(Address,Address,int,bytes)", from, to},
+                    new Object[]{value, new byte[0]});
+        }
+    }
+
+    public static class Relay {
+        private final VarDB<Address> next = Context.newVarDB("next", Address.class);
+        private final VarDB<BigInteger> received = Context.newVarDB("received", BigInteger.class);
+
+        @External
+        public void setNext(Address addr) {
+            next.set(addr);
+        }
+
+        @External
+        public void relay(int depth) {
+            if (depth > 1) {
+                Context.call(next.get(), "relay", depth - 1);
+            }
+        }
+
+        @Payable
+        public void fallback() {
+            received.set(received.getOrDefault(BigInteger.ZERO).add(Context.getValue()));
+        }
+    }
+
+    public static class Entry {
+        private final Address owner;
+        private final String name;
+        private final BigInteger value;
+        private final long height;
+
+        public Entry(Address owner, String name, BigInteger value, long height) {
+            this.owner = owner;
+            this.name = name;
+            this.value = value;
+            this.height = height;
+        }
+
+        public Address getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BigInteger getValue() {
+            return value;
+        }
+
+        public long getHeight() {
+            return height;
+        }
+
+        public static void writeObject(ObjectWriter w, Entry v) {
+            w.beginList(4);
+            w.write(v.owner);
+            w.write(v.name);
+            w.write(v.value);
+            w.write(v.height);
+            w.end();
+        }
+
+        public static Entry readObject(ObjectReader r) {
+            r.beginList();
+            var v = new Entry(r.readAddress(), r.readString(),
+                    r.readBigInteger(), r.readLong());
+            r.end();
+            return v;
+        }
+    }
+
+    public static class Registry {
+        private final DictDB<String, Entry> entries = Context.newDictDB("entries", Entry.class);
+
+        @External
+        public void register(String name, BigInteger value) {
+            entries.set(name, new Entry(Context.getCaller(), name, value,
+                    Context.getBlockHeight()));
+        }
+
+        @External(readonly = true)
+        public Entry get(String name) {
+            return entries.get(name);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CallDepth {
+        @Param({"1", "2", "4", "8", "16"})
+        public int value;
+    }
+
+    private ServiceManager sm;
+    private Account owner;
+    private Account user;
+    private Score token;
+    private Score registry;
+    private Score[] relays;
+
+    @Setup
+    public void setup() throws Exception {
+        sm = ServiceManager.getInstance();
+        owner = sm.createAccount(Integer.MAX_VALUE);
+        user = sm.createAccount();
+        token = sm.deploy(owner, Token.class, BigInteger.TEN.pow(50));
+        registry = sm.deploy(owner, Registry.class);
+        registry.invoke(owner, "register", "entry", BigInteger.ONE);
+        relays = new Score[kMaxDepth];
+        for (int i = 0; i < kMaxDepth; i++) {
+            relays[i] = sm.deploy(owner, Relay.class);
+        }
+        for (int i = 0; i + 1 < kMaxDepth; i++) {
+            relays[i].invoke(owner, "setNext", relays[i + 1].getAddress());
+        }
+        sm.invoke(owner, BigInteger.ZERO, token.getAddress(), "transfer",
+                user.getAddress(), BigInteger.ONE);
+    }
+
+    @Benchmark
+    public void invokeTransfer() {
+        sm.invoke(owner, BigInteger.ZERO, token.getAddress(), "transfer",
+                user.getAddress(), BigInteger.ONE);
+    }
+
+    @Benchmark
+    public Object callBalanceOf() {
+        return sm.call(token.getAddress(), "balanceOf", user.getAddress());
+    }
+
+    @Benchmark
+    public void invokeRegister() {
+        sm.invoke(owner, BigInteger.ZERO, registry.getAddress(), "register",
+                "entry", BigInteger.TEN);
+    }
+
+    @Benchmark
+    public Object callRegistryGet() {
+        return sm.call(registry.getAddress(), "get", "entry");
+    }
+
+    @Benchmark
+    public void contextCall(CallDepth depth) {
+        sm.invoke(owner, BigInteger.ZERO, relays[0].getAddress(), "relay", depth.value);
+    }
+
+    @Benchmark
+    public void transferToFallback() {
+        sm.transfer(owner, relays[0].getAddress(), BigInteger.ONE);
+    }
+
+    @Benchmark
+    public List<Event> getLastEventLogs() {
+        return sm.getLastEventLogs();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iconloop.score.test;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import score.Address;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for storage and balances of {@link WorldState} in nested
+ * frames.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldStateBenchmark {
+    private static final int kKeys = 1024;
+    private static final int kWrites = 8;
+    private static final int kDepth = 8;
+
+    private WorldState state;
+    private Address score;
+    private Address[] accounts;
+    private Address[] smallAccounts;
+    private String[] keys;
+    private byte[] value;
+
+    @Setup
+    public void setup() {
+        state = new WorldState();
+        score = Address.fromString("cx0000000000000000000000000000000000000001");
+        accounts = new Address[kWrites];
+        for (int i = 0; i < kWrites; i++) {
+            accounts[i] = Address.fromString(String.format("hx%040x", i + 1));
+            state.addBalance(accounts[i], BigInteger.TEN.pow(30));
+        }
+        smallAccounts = new Address[kWrites];
+        for (int i = 0; i < kWrites; i++) {
+            smallAccounts[i] = Address.fromString(String.format("hx%040x", kWrites + i + 1));
+            state.addBalance(smallAccounts[i], BigInteger.TEN.pow(18));
+        }
+        keys = new String[kKeys];
+        value = new byte[32];
+        for (int i = 0; i < kKeys; i++) {
+            keys[i] = "key" + i;
+            state.setValue(score, keys[i], value);
+        }
+    }
+
+    @Benchmark
+    public void commitFrame() {
+        state.push();
+        for (int i = 0; i < kWrites; i++) {
+            state.setValue(score, keys[i], value);
+            state.subtractBalance(accounts[i], BigInteger.ONE);
+            state.addBalance(accounts[(i + 1) % kWrites], BigInteger.ONE);
+        }
+        state.apply();
+        state.pop();
+    }
+
+    @Benchmark
+    public void revertFrame() {
+        state.push();
+        for (int i = 0; i < kWrites; i++) {
+            state.setValue(score, keys[i], null);
+            state.subtractBalance(accounts[i], BigInteger.ONE);
+        }
+        state.pop();
+    }
+
+    @Benchmark
+    public void readInNestedFrames(Blackhole bh) {
+        for (int i = 0; i < kDepth; i++) {
+            state.push();
+        }
+        for (int i = 0; i < kWrites; i++) {
+            bh.consume(state.getValue(score, keys[kKeys - 1 - i]));
+            bh.consume(state.getBalance(accounts[i]));
+        }
+        for (int i = 0; i < kDepth; i++) {
+            state.pop();
+        }
+    }
+
+    // balances fitting in a long are updated in place
+    @Benchmark
+    public void transferSmallBalances() {
+        for (int i = 0; i < kWrites; i++) {
+            state.subtractBalance(smallAccounts[i], BigInteger.ONE);
+            state.addBalance(smallAccounts[(i + 1) % kWrites], BigInteger.ONE);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.ee.io;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for RLP and RLPn data writers and readers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RLPCodecBenchmark {
+    private static final BigInteger kBigValue = BigInteger.TEN.pow(30);
+    private static final byte[] kBytes = new byte[32];
+    private static final int kWidth = 8;
+    private static final int kDepth = 3;
+    private static final int kEntries = 16;
+
+    @Param({"RLP", "RLPn"})
+    public String codec;
+
+    private byte[] scalars;
+    private byte[] nested;
+    private byte[] map;
+
+    private DataWriter newWriter() {
+        return "RLP".equals(codec) ? new RLPDataWriter() : new RLPNDataWriter();
+    }
+
+    private DataReader newReader(byte[] data) {
+        return "RLP".equals(codec) ? new RLPDataReader(data) : new RLPNDataReader(data);
+    }
+
+    @Setup
+    public void setup() {
+        var w = newWriter();
+        writeScalars(w);
+        scalars = w.toByteArray();
+        w = newWriter();
+        writeNested(w, kDepth);
+        nested = w.toByteArray();
+        w = newWriter();
+        writeMap(w);
+        map = w.toByteArray();
+    }
+
+    private static void writeScalars(DataWriter w) {
+        w.writeListHeader(8);
+        w.write(true);
+        w.write((byte) 0x7f);
+        w.write((short) 0x1234);
+        w.write(0x12345678);
+        w.write(Long.MAX_VALUE);
+        w.write(kBigValue);
+        w.write("hello, world");
+        w.write(kBytes);
+        w.writeFooter();
+    }
+
+    private static void readScalars(DataReader r, Blackhole bh) {
+        r.readListHeader();
+        bh.consume(r.readBoolean());
+        bh.consume(r.readByte());
+        bh.consume(r.readShort());
+        bh.consume(r.readInt());
+        bh.consume(r.readLong());
+        bh.consume(r.readBigInteger());
+        bh.consume(r.readString());
+        bh.consume(r.readByteArray());
+        r.readFooter();
+    }
+
+    private static void writeNested(DataWriter w, int depth) {
+        w.writeListHeader(kWidth);
+        for (int i = 0; i < kWidth; i++) {
+            if (depth > 0) {
+                writeNested(w, depth - 1);
+            } else {
+                w.write(i * 1000);
+            }
+        }
+        w.writeFooter();
+    }
+
+    private static void readNested(DataReader r, int depth, Blackhole bh) {
+        r.readListHeader();
+        while (r.hasNext()) {
+            if (depth > 0) {
+                readNested(r, depth - 1, bh);
+            } else {
+                bh.consume(r.readInt());
+            }
+        }
+        r.readFooter();
+    }
+
+    private static void writeMap(DataWriter w) {
+        w.writeMapHeader(kEntries);
+        for (int i = 0; i < kEntries; i++) {
+            w.write("key" + i);
+            w.write((long) i << 40);
+        }
+        w.writeFooter();
+    }
+
+    private static void readMap(DataReader r, Blackhole bh) {
+        r.readMapHeader();
+        while (r.hasNext()) {
+            bh.consume(r.readString());
+            bh.consume(r.readLong());
+        }
+        r.readFooter();
+    }
+
+    @Benchmark
+    public byte[] writeScalars() {
+        var w = newWriter();
+        writeScalars(w);
+        return w.toByteArray();
+    }
+
+    @Benchmark
+    public void readScalars(Blackhole bh) {
+        readScalars(newReader(scalars), bh);
+    }
+
+    @Benchmark
+    public byte[] writeNestedList() {
+        var w = newWriter();
+        writeNested(w, kDepth);
+        return w.toByteArray();
+    }
+
+    @Benchmark
+    public void readNestedList(Blackhole bh) {
+        readNested(newReader(nested), kDepth, bh);
+    }
+
+    @Benchmark
+    public byte[] writeMap() {
+        var w = newWriter();
+        writeMap(w);
+        return w.toByteArray();
+    }
+
+    @Benchmark
+    public void readMap(Blackhole bh) {
+        readMap(newReader(map), bh);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import score.Address;
+import score.Context;
+import score.ObjectReader;
+import score.ObjectWriter;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ObjectWriterImpl} and {@link ObjectReaderImpl}
+ * including user structs with custom codecs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectCodecBenchmark {
+    private static final int kRecords = 16;
+
+    public static class Record {
+        private final Address owner;
+        private final String name;
+        private final BigInteger amount;
+        private final long timestamp;
+
+        public Record(Address owner, String name, BigInteger amount, long timestamp) {
+            this.owner = owner;
+            this.name = name;
+            this.amount = amount;
+            this.timestamp = timestamp;
+        }
+
+        public static void writeObject(ObjectWriter w, Record v) {
+            w.beginList(4);
+            w.write(v.owner);
+            w.write(v.name);
+            w.write(v.amount);
+            w.write(v.timestamp);
+            w.end();
+        }
+
+        public static Record readObject(ObjectReader r) {
+            r.beginList();
+            var v = new Record(r.readAddress(), r.readString(),
+                    r.readBigInteger(), r.readLong());
+            r.end();
+            return v;
+        }
+    }
+
+    @Param({"RLP", "RLPn"})
+    public String codec;
+
+    private Record[] records;
+    private byte[] encodedRecords;
+    private byte[] encodedMap;
+    private byte[] encodedRecord;
+
+    @Setup
+    public void setup() {
+        records = new Record[kRecords];
+        for (int i = 0; i < kRecords; i++) {
+            var addr = new byte[Address.LENGTH];
+            addr[Address.LENGTH - 1] = (byte) i;
+            records[i] = new Record(new Address(addr), "record" + i,
+                    BigInteger.TEN.pow(18).multiply(BigInteger.valueOf(i)),
+                    1_700_000_000_000_000L + i);
+        }
+        encodedRecords = writeRecords();
+        encodedMap = writeMap();
+        encodedRecord = TypeConverter.toBytes(records[0]);
+    }
+
+    @Benchmark
+    public byte[] writeRecords() {
+        var w = Context.newByteArrayObjectWriter(codec);
+        w.beginList(records.length);
+        for (var r : records) {
+            w.write(r);
+        }
+        w.end();
+        return w.toByteArray();
+    }
+
+    @Benchmark
+    public void readRecords(Blackhole bh) {
+        var r = Context.newByteArrayObjectReader(codec, encodedRecords);
+        r.beginList();
+        while (r.hasNext()) {
+            bh.consume(r.read(Record.class));
+        }
+        r.end();
+    }
+
+    @Benchmark
+    public byte[] writeMap() {
+        var w = Context.newByteArrayObjectWriter(codec);
+        w.beginMap(records.length);
+        for (var r : records) {
+            w.write(r.name);
+            w.write(r.amount);
+        }
+        w.end();
+        return w.toByteArray();
+    }
+
+    @Benchmark
+    public void readMap(Blackhole bh) {
+        var r = Context.newByteArrayObjectReader(codec, encodedMap);
+        r.beginMap();
+        while (r.hasNext()) {
+            bh.consume(r.readString());
+            bh.consume(r.readBigInteger());
+        }
+        r.end();
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return TypeConverter.toBytes(records[0]);
+    }
+
+    @Benchmark
+    public Record fromBytes() {
+        return TypeConverter.fromBytes(Record.class, encodedRecord);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import org.bouncycastle.asn1.x9.X9IntegerConverter;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.util.BigIntegers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Crypto#recoverKey} for secp256k1 with the previous
+ * implementation, which multiplies the decoded point by the group order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecoverKeyBenchmark {
+    private static final int kSignatures = 16;
+    private static final String kAlg = "ecdsa-secp256k1";
+
+    @Param({"true", "false"})
+    public boolean compressed;
+
+    private final byte[][] msgs = new byte[kSignatures][];
+    private final byte[][] sigs = new byte[kSignatures][];
+    private int next;
+
+    @Setup
+    public void setup() {
+        var params = CustomNamedCurves.getByName("secp256k1");
+        var domain = new ECDomainParameters(params.getCurve(), params.getG(), params.getN());
+        for (int i = 0; i < kSignatures; i++) {
+            var key = BigInteger.valueOf(i).add(BigInteger.TWO.pow(200));
+            var pk = params.getG().multiply(key).getEncoded(false);
+            var msg = Crypto.sha3_256(("message" + i).getBytes(StandardCharsets.UTF_8));
+            var signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+            signer.init(true, new ECPrivateKeyParameters(key, domain));
+            var rs = signer.generateSignature(msg);
+            var sig = new byte[65];
+            BigIntegers.asUnsignedByteArray(rs[0], sig, 0, 32);
+            BigIntegers.asUnsignedByteArray(rs[1], sig, 32, 32);
+            if (!Arrays.equals(pk, Crypto.recoverKey(kAlg, msg, sig, false))) {
+                sig[64] = 1;
+            }
+            msgs[i] = msg;
+            sigs[i] = sig;
+        }
+    }
+
+    @Benchmark
+    public byte[] recoverKey() {
+        var i = next++ % kSignatures;
+        return Crypto.recoverKey(kAlg, msgs[i], sigs[i], compressed);
+    }
+
+    @Benchmark
+    public byte[] legacyRecoverKey() {
+        var i = next++ % kSignatures;
+        return legacyRecoverKey(msgs[i], sigs[i], compressed);
+    }
+
+    private static final ECDomainParameters curve;
+
+    static {
+        var params = CustomNamedCurves.getByName("secp256k1");
+        curve = new ECDomainParameters(params.getCurve(), params.getG(), params.getN(), params.getH());
+    }
+
+    private static byte[] legacyRecoverKey(byte[] msg, byte[] sig, boolean compressed) {
+        var r = BigIntegers.fromUnsignedByteArray(sig, 0, 32);
+        var s = BigIntegers.fromUnsignedByteArray(sig, 32, 32);
+        int recId = sig[64];
+        var n = curve.getN();
+        var x = r.add(BigInteger.valueOf(recId / 2).multiply(n));
+        if (x.compareTo(curve.getCurve().getField().getCharacteristic()) >= 0) {
+            return null;
+        }
+        var x9 = new X9IntegerConverter();
+        var enc = x9.integerToBytes(x, 1 + x9.getByteLength(curve.getCurve()));
+        enc[0] = (byte) ((recId & 1) == 1 ? 0x03 : 0x02);
+        var point = curve.getCurve().decodePoint(enc);
+        if (!point.multiply(n).isInfinity()) {
+            return null;
+        }
+        var e = new BigInteger(1, msg);
+        var eInv = BigInteger.ZERO.subtract(e).mod(n);
+        var rInv = r.modInverse(n);
+        var q = ECAlgorithms.sumOfTwoMultiplies(curve.getG(), rInv.multiply(eInv).mod(n),
+                point, rInv.multiply(s).mod(n));
+        return q.getEncoded(compressed);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl.bls12381;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import supranational.blst.P1;
+import supranational.blst.P2;
+import supranational.blst.PT;
+import supranational.blst.Scalar;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BLS12381#pairingCheck} with the previous implementation,
+ * which multiplies a full pairing of each pair.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PairingBenchmark {
+    @Param({"2", "4", "8"})
+    public int pairs;
+
+    @Param({"true", "false"})
+    public boolean compressed;
+
+    private byte[] data;
+
+    private static byte[] scalar(long v) {
+        var bs = BigInteger.valueOf(v).toByteArray();
+        var out = new byte[32];
+        System.arraycopy(bs, 0, out, out.length - bs.length, bs.length);
+        return out;
+    }
+
+    // (a1 G1, G2) ... (a(n-1) G1, G2), (-(a1 + ... + a(n-1)) G1, G2)
+    @Setup
+    public void setup() {
+        int g1Size = compressed ? BLS12381.G1_LEN : 2 * BLS12381.G1_LEN;
+        int g2Size = compressed ? BLS12381.G2_LEN : 2 * BLS12381.G2_LEN;
+        var g2 = P2.generator();
+        var g2Bytes = compressed ? g2.compress() : g2.serialize();
+        data = new byte[pairs * (g1Size + g2Size)];
+        long sum = 0;
+        for (int i = 0; i < pairs; i++) {
+            long a = i + 1 < pairs ? 1000 + i * 7919L : -sum;
+            sum += a;
+            var p1 = P1.generator().mult(new Scalar().from_bendian(scalar(Math.abs(a))));
+            if (a < 0) {
+                p1 = p1.neg();
+            }
+            var p1Bytes = compressed ? p1.compress() : p1.serialize();
+            int off = i * (g1Size + g2Size);
+            System.arraycopy(p1Bytes, 0, data, off, g1Size);
+            System.arraycopy(g2Bytes, 0, data, off + g1Size, g2Size);
+        }
+        if (!BLS12381.pairingCheck(data, compressed) || !legacyPairingCheck(data, compressed)) {
+            throw new IllegalStateException("invalid benchmark data");
+        }
+    }
+
+    private static boolean legacyPairingCheck(byte[] data, boolean compressed) {
+        int g1Size = compressed ? BLS12381.G1_LEN : 2 * BLS12381.G1_LEN;
+        int g2Size = compressed ? BLS12381.G2_LEN : 2 * BLS12381.G2_LEN;
+        int size = g1Size + g2Size;
+        PT acc = PT.one();
+        byte[] p1buf = new byte[g1Size];
+        byte[] p2buf = new byte[g2Size];
+        for (int i = 0; i < data.length; i += size) {
+            System.arraycopy(data, i, p1buf, 0, g1Size);
+            System.arraycopy(data, i + g1Size, p2buf, 0, g2Size);
+            P1 p1 = new P1(p1buf);
+            P2 p2 = new P2(p2buf);
+            if (!p1.in_group() || !p2.in_group()) {
+                throw new IllegalArgumentException("G1 or G2 point not in subgroup!");
+            }
+            if (p1.is_inf() || p2.is_inf()) {
+                continue;
+            }
+            acc = acc.mul(new PT(p1, p2));
+        }
+        return acc.final_exp().is_one();
+    }
+
+    @Benchmark
+    public boolean pairingCheck() {
+        return BLS12381.pairingCheck(data, compressed);
+    }
+
+    @Benchmark
+    public boolean legacyPairingCheck() {
+        return legacyPairingCheck(data, compressed);
+    }
+}
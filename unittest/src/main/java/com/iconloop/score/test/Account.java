@@ -19,15 +19,12 @@ package com.iconloop.score.test;
 import score.Address;
 
 import java.math.BigInteger;
-import java.util.HashMap;
-import java.util.Map;
 
 public class Account {
     private static final ServiceManager sm = ServiceManager.getInstance();
 
     final private Address address;
     final private WorldState state;
-    final private Map<String, BigInteger> tokens = new HashMap<>();
 
     /**
      * Get address of the account
@@ -77,7 +74,7 @@ public class Account {
      * @return stored balance for the token
      */
     public BigInteger getBalance(String symbol) {
-        return tokens.getOrDefault(symbol, BigInteger.ZERO);
+        return state.getTokenBalance(address, symbol);
     }
 
     /**
@@ -86,11 +83,7 @@ public class Account {
      * @param value value to be added
      */
     public void addBalance(String symbol, BigInteger value) {
-        if (value.signum()<0) {
-            throw new IllegalArgumentException("negative value change");
-        }
-        var balance = getBalance(symbol);
-        tokens.put(symbol, balance.add(value));
+        state.addTokenBalance(address, symbol, value);
     }
 
     /**
@@ -99,14 +92,7 @@ public class Account {
      * @param value value to be subtracted
      */
     public void subtractBalance(String symbol, BigInteger value) {
-        if (value.signum()<0) {
-            throw new IllegalArgumentException("negative value change");
-        }
-        var balance = getBalance(symbol);
-        if (balance.compareTo(value)<0) {
-            throw new IllegalArgumentException("out of balance");
-        }
-        tokens.put(symbol, balance.subtract(value));
+        state.subtractTokenBalance(address, symbol, value);
     }
 
     /**
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iconloop.score.test;
+
+import java.math.BigInteger;
+
+/**
+ * Mutable balance kept in a long while it fits, and in a BigInteger
+ * otherwise.
+ */
+final class Balance {
+    private long value;
+    // value if it doesn't fit in a long
+    private BigInteger big;
+    // BigInteger of value returned by get()
+    private BigInteger cached;
+
+    Balance(BigInteger v) {
+        set(v);
+    }
+
+    private Balance(Balance o) {
+        value = o.value;
+        big = o.big;
+        cached = o.cached;
+    }
+
+    Balance copy() {
+        return new Balance(this);
+    }
+
+    private void set(BigInteger v) {
+        if (v.bitLength() < Long.SIZE) {
+            value = v.longValue();
+            big = null;
+            cached = v;
+        } else {
+            big = v;
+            cached = null;
+        }
+    }
+
+    BigInteger get() {
+        if (big != null) {
+            return big;
+        }
+        if (cached == null) {
+            cached = BigInteger.valueOf(value);
+        }
+        return cached;
+    }
+
+    void add(BigInteger v) {
+        if (big == null && v.bitLength() < Long.SIZE) {
+            long x = v.longValue();
+            long r = value + x;
+            if (((value ^ r) & (x ^ r)) >= 0) {
+                value = r;
+                cached = null;
+                return;
+            }
+        }
+        set(get().add(v));
+    }
+
+    void subtract(BigInteger v) {
+        if (big == null && v.bitLength() < Long.SIZE) {
+            long x = v.longValue();
+            long r = value - x;
+            if (((value ^ x) & (value ^ r)) >= 0) {
+                value = r;
+                cached = null;
+                return;
+            }
+        }
+        set(get().subtract(v));
+    }
+
+    int compareTo(BigInteger v) {
+        if (big == null && v.bitLength() < Long.SIZE) {
+            return Long.compare(value, v.longValue());
+        }
+        return get().compareTo(v);
+    }
+}
@@ -17,7 +17,9 @@
 package com.iconloop.score.test;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public class DataStore<K,V> {
     private DataStore<K,V> parent;
@@ -43,14 +45,44 @@ public class DataStore<K,V> {
     public V get(K key) {
         var ptr = this;
         while (ptr != null) {
-            if (ptr.store.containsKey(key)) {
-                return ptr.store.get(key);
+            var v = ptr.store.get(key);
+            if (v != null || ptr.store.containsKey(key)) {
+                return v;
             }
             ptr = ptr.parent;
         }
         return null;
     }
 
+    /**
+     * Returns the value set in this store, not in the parents.
+     * @param key key of the value
+     * @return the value or null if it's not set in this store
+     */
+    public V getLocal(K key) {
+        return store.get(key);
+    }
+
+    /**
+     * Performs the action for each key and its value visible from this
+     * store, including the ones in the parents.
+     * @param action action to be performed
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (parent == null) {
+            store.forEach(action);
+            return;
+        }
+        var visited = new HashSet<K>();
+        for (var ptr = this; ptr != null; ptr = ptr.parent) {
+            for (var pair : ptr.store.entrySet()) {
+                if (visited.add(pair.getKey())) {
+                    action.accept(pair.getKey(), pair.getValue());
+                }
+            }
+        }
+    }
+
     public boolean apply() {
         if (parent!=null) {
             for (var pair : store.entrySet()) {
@@ -48,6 +48,21 @@ public abstract class ServiceManager {
      */
     public abstract Account createAccount(int initialIcx);
 
+    /**
+     * Create new EoA accounts with specified balance.
+     * <p>
+     *     Addresses of the accounts are allocated in a contiguous range and
+     *     the balances are kept for the range, so it can be used for
+     *     creating a large number of accounts. {@link Account} objects are
+     *     created on the first access through the returned list or
+     *     {@link #getAccount(Address)}.
+     * </p>
+     * @param count Number of accounts
+     * @param initialBalance Initial balance of each account in loop
+     * @return list of created accounts
+     */
+    public abstract List<Account> createAccounts(int count, BigInteger initialBalance);
+
     /**
      * Get account.
      * @param addr Address of the account
@@ -156,6 +171,66 @@ public abstract class ServiceManager {
      */
     public abstract Block getBlock();
 
+    /**
+     * Reset blocks with the genesis block.
+     * <p>
+     *     By default, the first block has a random height and the current
+     *     time. Registered block hooks are removed.
+     * </p>
+     * @param height height of the genesis block
+     * @param timestamp timestamp of the genesis block in micro-second
+     * @param interval interval of blocks in micro-second
+     */
+    public abstract void setGenesisBlock(long height, long timestamp, long interval);
+
+    /**
+     * Reset blocks with the genesis block derived from the seed.
+     * <p>
+     *     The same seed gives the same blocks, so that transaction hashes
+     *     and timestamps are reproducible. Registered block hooks are
+     *     removed.
+     * </p>
+     * @param seed seed for the genesis block
+     */
+    public abstract void setBlockSeed(long seed);
+
+    /**
+     * Register a hook called when the block reaches the height.
+     * <p>
+     *     Advancing blocks calls only hooks at heights up to the new block,
+     *     so it doesn't depend on the number of blocks.
+     *     {@link #getBlock()} returns the block at the height of the hook
+     *     while it's called. The hook must not advance blocks.
+     * </p>
+     * <p>
+     *     Hooks are kept by the service manager until they're called or
+     *     blocks are reset with {@link #setGenesisBlock(long, long, long)}
+     *     or {@link #setBlockSeed(long)}. The service manager is a singleton,
+     *     so hooks left by a test may be called in following tests in the
+     *     same JVM. Reset blocks before or after tests using hooks.
+     * </p>
+     * @param height height of the block, higher than the current one
+     * @param hook hook to be called
+     */
+    public abstract void addBlockHook(long height, Runnable hook);
+
+    /**
+     * Schedule an action to be run when the block reaches the height.
+     * <p>
+     *     The action runs in its own transaction context in the block at
+     *     the height. Transactions made by the action, with
+     *     {@link #invoke(Account, BigInteger, Address, String, Object...)}
+     *     for example, are included in the same block. Like block hooks,
+     *     advancing blocks runs only the actions due up to the new block.
+     *     If a transaction creates the block at the height, it's included
+     *     after the transactions of the actions.
+     * </p>
+     * @param height height of the block, higher than the current one
+     * @param action action to be run
+     * @see #addBlockHook(long, Runnable)
+     */
+    public abstract void scheduleAt(long height, Runnable action);
+
     /**
      * Get event logs of the last transaction.
      * @see GenerateTScore
@@ -163,6 +238,23 @@ public abstract class ServiceManager {
      */
     public abstract List<Event> getLastEventLogs();
 
+    /**
+     * Get total supply of the token stored with
+     * {@link Account#addBalance(String, BigInteger)}.
+     * @param symbol symbol of the token
+     * @return sum of the balances of all accounts
+     */
+    public abstract BigInteger getTokenSupply(String symbol);
+
+    /**
+     * Get accounts with the largest balances of the token stored with
+     * {@link Account#addBalance(String, BigInteger)}.
+     * @param symbol symbol of the token
+     * @param n maximum number of accounts
+     * @return accounts in descending order of the balance
+     */
+    public abstract List<Account> getTopTokenHolders(String symbol, int n);
+
 
     public interface Block {
         /**
@@ -195,6 +287,16 @@ public abstract class ServiceManager {
          */
         void increase(long count);
 
+        /**
+         * Increase last block height up to the height.
+         * <p>
+         * It takes same time regardless of the amount of increase.
+         * To get updated block information, use {@link #getBlock()}.
+         * @param height height of the new last block
+         * @see #increase(long)
+         */
+        void advanceTo(long height);
+
         /**
          * Calculate hash of transaction at the index
          * <p>
@@ -20,16 +20,84 @@ import score.Address;
 import score.RevertedException;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 public class WorldState {
     private DataStore<String,byte[]> store;
-    private DataStore<Address,BigInteger> balances;
+    private DataStore<Address,Balance> balances;
     private DataStore<Address,Score> scores;
+    private DataStore<TokenKey,Balance> tokens;
+    private DataStore<Integer,Balance> supplies;
+    private final List<AccountRange> ranges = new ArrayList<>();
+    private final Map<String,Integer> symbols = new HashMap<>();
+
+    // Key of token balances. Symbols are interned as integers, which are
+    // never reverted.
+    private static class TokenKey {
+        private final Address address;
+        private final int symbol;
+
+        TokenKey(Address address, int symbol) {
+            this.address = address;
+            this.symbol = symbol;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TokenKey)) return false;
+            var other = (TokenKey) o;
+            return symbol == other.symbol && address.equals(other.address);
+        }
+
+        @Override
+        public int hashCode() {
+            return address.hashCode() * 31 + symbol;
+        }
+    }
+
+    // Initial balance of accounts created in bulk. Addresses in the range
+    // share the prefix, and the last 4 bytes are contiguous big-endian
+    // integers from the first one.
+    private static class AccountRange {
+        private static final int kPrefix = Address.LENGTH - 4;
+
+        private final byte[] prefix;
+        private final int first;
+        private final int count;
+        private final BigInteger balance;
+
+        AccountRange(Address first, int count, BigInteger balance) {
+            var ba = first.toByteArray();
+            this.prefix = Arrays.copyOf(ba, kPrefix);
+            this.first = seedOf(ba);
+            this.count = count;
+            this.balance = balance;
+        }
+
+        static int seedOf(byte[] ba) {
+            return (ba[kPrefix] & 0xff) << 24 | (ba[kPrefix + 1] & 0xff) << 16
+                    | (ba[kPrefix + 2] & 0xff) << 8 | (ba[kPrefix + 3] & 0xff);
+        }
+
+        boolean contains(byte[] ba) {
+            return Integer.compareUnsigned(seedOf(ba) - first, count) < 0
+                    && Arrays.equals(ba, 0, kPrefix, prefix, 0, kPrefix);
+        }
+    }
 
     public WorldState() {
         store = new DataStore<>(null);
         balances = new DataStore<>(null);
         scores = new DataStore<>(null);
+        tokens = new DataStore<>(null);
+        supplies = new DataStore<>(null);
     }
 
     public void setValue(Address addr, String key, byte[] value) {
@@ -45,19 +113,176 @@ public class WorldState {
     }
 
     public BigInteger getBalance(Address key) {
-        return balances.getOrDefault(key, BigInteger.ZERO);
+        var balance = balances.get(key);
+        if (balance != null) {
+            return balance.get();
+        }
+        return getInitialBalance(key);
+    }
+
+    // Returns the balance to be updated in the current frame, or null if
+    // there is no balance for the key. A frame gets its own copy on the
+    // first update, so updates can be reverted.
+    private static <K> Balance balanceForUpdate(DataStore<K,Balance> ds, K key) {
+        var balance = ds.getLocal(key);
+        if (balance == null) {
+            var prev = ds.get(key);
+            if (prev != null) {
+                balance = prev.copy();
+                ds.set(key, balance);
+            }
+        }
+        return balance;
+    }
+
+    private static <K> Balance balanceForUpdate(DataStore<K,Balance> ds, K key, BigInteger initial) {
+        var balance = balanceForUpdate(ds, key);
+        if (balance == null) {
+            balance = new Balance(initial);
+            ds.set(key, balance);
+        }
+        return balance;
+    }
+
+    private Balance balanceForUpdate(Address key) {
+        var balance = balanceForUpdate(balances, key);
+        if (balance == null) {
+            balance = new Balance(getInitialBalance(key));
+            balances.set(key, balance);
+        }
+        return balance;
+    }
+
+    /**
+     * Sets initial balance of the accounts in the range. Unlike other
+     * changes, it's not reverted by {@link #pop()}.
+     * @param first Address of the first account
+     * @param count Number of accounts
+     * @param balance Initial balance of each account
+     */
+    public void addAccountRange(Address first, int count, BigInteger balance) {
+        ranges.add(new AccountRange(first, count, balance));
+    }
+
+    private BigInteger getInitialBalance(Address key) {
+        if (ranges.isEmpty()) {
+            return BigInteger.ZERO;
+        }
+        var ba = key.toByteArray();
+        for (var r : ranges) {
+            if (r.contains(ba)) {
+                return r.balance;
+            }
+        }
+        return BigInteger.ZERO;
     }
 
     public void addBalance(Address key, BigInteger value) {
-        balances.set(key,getBalance(key).add(value));
+        balanceForUpdate(key).add(value);
     }
 
     public void subtractBalance(Address key, BigInteger value) {
-        var balance = getBalance(key);
+        var balance = balanceForUpdate(key);
         if (balance.compareTo(value)<0) {
-            throw new OutOfBalanceException("OutOfBalance(from="+key+",balance="+balance+",value="+value+")");
+            throw new OutOfBalanceException("OutOfBalance(from="+key+",balance="+balance.get()+",value="+value+")");
+        }
+        balance.subtract(value);
+    }
+
+    private int symbolOf(String symbol) {
+        return symbols.computeIfAbsent(symbol, k -> symbols.size());
+    }
+
+    public BigInteger getTokenBalance(Address key, String symbol) {
+        var id = symbols.get(symbol);
+        if (id == null) {
+            return BigInteger.ZERO;
+        }
+        var balance = tokens.get(new TokenKey(key, id));
+        return balance != null ? balance.get() : BigInteger.ZERO;
+    }
+
+    public void addTokenBalance(Address key, String symbol, BigInteger value) {
+        if (value.signum()<0) {
+            throw new IllegalArgumentException("negative value change");
+        }
+        var id = symbolOf(symbol);
+        balanceForUpdate(tokens, new TokenKey(key, id), BigInteger.ZERO).add(value);
+        balanceForUpdate(supplies, id, BigInteger.ZERO).add(value);
+    }
+
+    public void subtractTokenBalance(Address key, String symbol, BigInteger value) {
+        if (value.signum()<0) {
+            throw new IllegalArgumentException("negative value change");
+        }
+        var id = symbolOf(symbol);
+        var balance = balanceForUpdate(tokens, new TokenKey(key, id));
+        if (balance == null ? value.signum() > 0 : balance.compareTo(value)<0) {
+            throw new IllegalArgumentException("out of balance");
+        }
+        if (balance != null) {
+            balance.subtract(value);
+            balanceForUpdate(supplies, id).subtract(value);
+        }
+    }
+
+    /**
+     * Returns the sum of token balances of all accounts.
+     * @param symbol symbol of the token
+     * @return total supply of the token
+     */
+    public BigInteger getTokenSupply(String symbol) {
+        var id = symbols.get(symbol);
+        if (id == null) {
+            return BigInteger.ZERO;
+        }
+        var supply = supplies.get(id);
+        return supply != null ? supply.get() : BigInteger.ZERO;
+    }
+
+    /**
+     * Returns addresses of accounts with the largest token balances in
+     * descending order of the balance. Accounts without balance are not
+     * included.
+     * @param symbol symbol of the token
+     * @param n maximum number of accounts
+     * @return addresses of the accounts
+     */
+    public List<Address> getTopTokenHolders(String symbol, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("negative count");
+        }
+        var id = symbols.get(symbol);
+        if (id == null || n == 0) {
+            return List.of();
+        }
+        // ascending order of the balance, and descending order of the
+        // address for the same balance
+        Comparator<Map.Entry<Address,BigInteger>> order = Comparator
+                .comparing((Map.Entry<Address,BigInteger> e) -> e.getValue())
+                .thenComparing(e -> e.getKey().toString(), Comparator.reverseOrder());
+        var top = new PriorityQueue<>(order);
+        tokens.forEach((k, v) -> {
+            if (k.symbol != id) {
+                return;
+            }
+            var balance = v.get();
+            if (balance.signum() <= 0) {
+                return;
+            }
+            var e = Map.entry(k.address, balance);
+            if (top.size() < n) {
+                top.add(e);
+            } else if (order.compare(top.peek(), e) < 0) {
+                top.poll();
+                top.add(e);
+            }
+        });
+        var holders = new Address[top.size()];
+        for (int i = holders.length - 1; i >= 0; i--) {
+            holders[i] = top.poll().getKey();
         }
-        balances.set(key,getBalance(key).subtract(value));
+        return List.of(holders);
     }
 
     public Score getScore(Address key) {
@@ -72,17 +297,25 @@ public class WorldState {
         store = new DataStore<>(store);
         balances = new DataStore<>(balances);
         scores = new DataStore<>(scores);
+        tokens = new DataStore<>(tokens);
+        supplies = new DataStore<>(supplies);
     }
 
+    // Balances of the frame are moved to the parent, so the frame must be
+    // popped after it.
     public void apply() {
         store.apply();
         balances.apply();
         scores.apply();
+        tokens.apply();
+        supplies.apply();
     }
 
     public void pop() {
         store = store.parent();
         balances = balances.parent();
         scores = scores.parent();
+        tokens = tokens.parent();
+        supplies = supplies.parent();
     }
 }
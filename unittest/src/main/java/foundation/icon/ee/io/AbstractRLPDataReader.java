@@ -24,26 +24,93 @@ import java.util.Arrays;
 
 public abstract class AbstractRLPDataReader implements DataReader {
     private static class ListFrame {
+        int startPos;
         int endPos;
     }
 
-    private final ByteBuffer bb;
-    private final byte[] arr;
+    private static final int MAX_NULL_BYTES = 2;
+
+    private ByteBuffer bb;
+    // backing array of bb. null if bb is direct or read-only.
+    private byte[] arr;
+    private ByteBuffer view;
     private final ArrayList<ListFrame> frames = new ArrayList<>();
     private ListFrame topFrame;
     private int o;
     private int l;
 
+    // bytes for peekXXX() methods. It's arr itself or copied bytes.
+    private byte[] window;
+    private int windowOffset;
+    private byte[] scratch;
+
     public AbstractRLPDataReader(byte[] data) {
         this(ByteBuffer.wrap(data));
     }
 
-    private AbstractRLPDataReader(ByteBuffer bb) {
-        this.bb = bb;
-        this.arr = bb.array();
+    /**
+     * Creates a reader for bytes between the position and the limit of the
+     * buffer. The buffer can be direct or mapped buffer. The position of the
+     * buffer is not changed.
+     * @param bb buffer to read
+     */
+    public AbstractRLPDataReader(ByteBuffer bb) {
+        reset(bb);
+    }
+
+    public void reset(byte[] data) {
+        reset(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Makes the reader read the buffer from the start. It's same as
+     * creating a new reader for the buffer.
+     * @param bb buffer to read
+     */
+    public void reset(ByteBuffer bb) {
+        this.bb = bb.slice();
+        if (this.bb.hasArray()) {
+            this.arr = this.bb.array();
+            this.view = null;
+        } else {
+            this.arr = null;
+            this.view = this.bb.duplicate();
+            if (this.scratch == null) {
+                this.scratch = new byte[Long.BYTES];
+            }
+        }
+        this.window = null;
+        this.frames.clear();
         this.topFrame = new ListFrame();
         this.frames.add(topFrame);
-        this.topFrame.endPos = bb.limit();
+        this.topFrame.startPos = this.bb.position();
+        this.topFrame.endPos = this.bb.limit();
+    }
+
+    private void load(int pos, int len) {
+        if (arr != null) {
+            window = arr;
+            windowOffset = bb.arrayOffset() + pos;
+            return;
+        }
+        if (scratch.length < len) {
+            scratch = new byte[len];
+        }
+        view.position(pos);
+        view.get(scratch, 0, len);
+        window = scratch;
+        windowOffset = 0;
+    }
+
+    private byte[] copyOf(int pos, int len) {
+        if (arr != null) {
+            var offset = bb.arrayOffset() + pos;
+            return Arrays.copyOfRange(arr, offset, offset + len);
+        }
+        var ba = new byte[len];
+        view.position(pos);
+        view.get(ba);
+        return ba;
     }
 
     /*
@@ -53,6 +120,12 @@ public abstract class AbstractRLPDataReader implements DataReader {
     protected abstract int peekNull(byte[] ba, int offset, int len, boolean forRead);
     protected abstract BigInteger peekBigInteger(byte[] ba, int offset, int len);
 
+    /*
+     * return the lowest 64 bits of the integer. It's called only for
+     * integers with 1 to 8 bytes.
+     */
+    protected abstract long peekLong(byte[] ba, int offset, int len);
+
     private void readRLPString() {
         var b = peek();
         if (b >= 0xc0) {
@@ -63,7 +136,7 @@ public abstract class AbstractRLPDataReader implements DataReader {
     }
 
     private void peekRLPString(int b) {
-        var p = bb.arrayOffset() + bb.position();
+        var p = bb.position();
         if (b <= 0x7f) {
             o = bb.position();
             l = 1;
@@ -72,58 +145,63 @@ public abstract class AbstractRLPDataReader implements DataReader {
             l = b - 0x80;
         } else if (b == 0xb8) {
             o = 2 + bb.position();
-            l = arr[p + 1] & 0xff;
+            l = bb.get(p + 1) & 0xff;
         } else if (b == 0xb9) {
             o = 3 + bb.position();
-            l = ((arr[p + 1] & 0xff) << 8) |
-                    (arr[p + 2] & 0xff);
+            l = ((bb.get(p + 1) & 0xff) << 8) |
+                    (bb.get(p + 2) & 0xff);
         } else if (b == 0xba) {
             o = 4 + bb.position();
-            l = ((arr[p + 1] & 0xff) << 16) |
-                    ((arr[p + 2] & 0xff) << 8) |
-                    (arr[p + 3] & 0xff);
+            l = ((bb.get(p + 1) & 0xff) << 16) |
+                    ((bb.get(p + 2) & 0xff) << 8) |
+                    (bb.get(p + 3) & 0xff);
         } else if (b == 0xbb) {
             o = 5 + bb.position();
-            l = ((arr[p + 1] & 0xff) << 24) |
-                    ((arr[p + 2] & 0xff) << 16) |
-                    ((arr[p + 3] & 0xff) << 8) |
-                    (arr[p + 4] & 0xff);
+            l = ((bb.get(p + 1) & 0xff) << 24) |
+                    ((bb.get(p + 2) & 0xff) << 16) |
+                    ((bb.get(p + 3) & 0xff) << 8) |
+                    (bb.get(p + 4) & 0xff);
         } else {
             throw new UnsupportedOperationException();
         }
     }
 
     private void peekRLPListHeader(int b) {
-        var p = bb.arrayOffset() + bb.position();
+        var p = bb.position();
         if (b <= 0xf7) {
             o = 1 + bb.position();
             l = b - 0xc0;
         } else if (b == 0xf8) {
             o = 2 + bb.position();
-            l = arr[p + 1] & 0xff;
+            l = bb.get(p + 1) & 0xff;
         } else if (b == 0xf9) {
             o = 3 + bb.position();
-            l = ((arr[p + 1] & 0xff) << 8) |
-                    (arr[p + 2] & 0xff);
+            l = ((bb.get(p + 1) & 0xff) << 8) |
+                    (bb.get(p + 2) & 0xff);
         } else if (b == 0xfa) {
             o = 4 + bb.position();
-            l = ((arr[p + 1] & 0xff) << 16) |
-                    ((arr[p + 2] & 0xff) << 8) |
-                    (arr[p + 3] & 0xff);
+            l = ((bb.get(p + 1) & 0xff) << 16) |
+                    ((bb.get(p + 2) & 0xff) << 8) |
+                    (bb.get(p + 3) & 0xff);
         } else if (b == 0xfb) {
             o = 5 + bb.position();
-            l = ((arr[p + 1] & 0xff) << 24) |
-                    ((arr[p + 2] & 0xff) << 16) |
-                    ((arr[p + 3] & 0xff) << 8) |
-                    (arr[p + 4] & 0xff);
+            l = ((bb.get(p + 1) & 0xff) << 24) |
+                    ((bb.get(p + 2) & 0xff) << 16) |
+                    ((bb.get(p + 3) & 0xff) << 8) |
+                    (bb.get(p + 4) & 0xff);
         } else {
             throw new UnsupportedOperationException();
         }
     }
 
     private boolean peekRLPNull(int b, boolean forRead) {
-        var p = bb.arrayOffset() + bb.position();
-        var n = peekNull(arr, p, bb.limit() - p, forRead);
+        var p = bb.position();
+        var len = bb.limit() - p;
+        if (arr == null) {
+            len = Math.min(len, MAX_NULL_BYTES);
+        }
+        load(p, len);
+        var n = peekNull(window, windowOffset, len, forRead);
         if (n>0) {
             o = bb.position() + n;
             l = 0;
@@ -136,24 +214,45 @@ public abstract class AbstractRLPDataReader implements DataReader {
         return (bb.get(bb.position()) & 0xff);
     }
 
+    private static final int LONG_BYTES = 8;
+
+    private long readLongValue() {
+        readRLPString();
+        if (l > LONG_BYTES) {
+            // lowest 64 bits are the same for signed and unsigned
+            load(o + l - LONG_BYTES, LONG_BYTES);
+            return peekLong(window, windowOffset, LONG_BYTES);
+        }
+        load(o, l);
+        if (l == 0) {
+            return peekBigInteger(window, windowOffset, l).longValue();
+        }
+        return peekLong(window, windowOffset, l);
+    }
+
     public boolean readBoolean() {
-        return readBigInteger().signum() != 0;
+        readRLPString();
+        load(o, l);
+        if (l == 0 || l > LONG_BYTES) {
+            return peekBigInteger(window, windowOffset, l).signum() != 0;
+        }
+        return peekLong(window, windowOffset, l) != 0;
     }
 
     public byte readByte() {
-        return readBigInteger().byteValue();
+        return (byte) readLongValue();
     }
 
     public short readShort() {
-        return readBigInteger().shortValue();
+        return (short) readLongValue();
     }
 
     public char readChar() {
-        return (char) readBigInteger().intValue();
+        return (char) readLongValue();
     }
 
     public int readInt() {
-        return readBigInteger().intValue();
+        return (int) readLongValue();
     }
 
     public float readFloat() {
@@ -165,7 +264,7 @@ public abstract class AbstractRLPDataReader implements DataReader {
     }
 
     public long readLong() {
-        return readBigInteger().longValue();
+        return readLongValue();
     }
 
     public double readDouble() {
@@ -178,20 +277,34 @@ public abstract class AbstractRLPDataReader implements DataReader {
 
     public BigInteger readBigInteger() {
         readRLPString();
-        var offset = bb.arrayOffset() + o;
-        return peekBigInteger(arr, offset, l);
+        load(o, l);
+        return peekBigInteger(window, windowOffset, l);
     }
 
     public String readString() {
         readRLPString();
-        var offset = bb.arrayOffset() + o;
-        return new String(arr, offset, l, StandardCharsets.UTF_8);
+        if (arr != null) {
+            return new String(arr, bb.arrayOffset() + o, l, StandardCharsets.UTF_8);
+        }
+        return new String(copyOf(o, l), StandardCharsets.UTF_8);
     }
 
     public byte[] readByteArray() {
         readRLPString();
-        var offset = bb.arrayOffset() + o;
-        return Arrays.copyOfRange(arr, offset, offset + l);
+        return copyOf(o, l);
+    }
+
+    /**
+     * Reads byte array as a read-only buffer sharing the content with the
+     * buffer of the reader.
+     * @return buffer for the bytes.
+     */
+    public ByteBuffer readByteBuffer() {
+        readRLPString();
+        var slice = bb.asReadOnlyBuffer();
+        slice.position(o);
+        slice.limit(o + l);
+        return slice.slice();
     }
 
     public boolean readNullity() {
@@ -200,16 +313,60 @@ public abstract class AbstractRLPDataReader implements DataReader {
 
     public void skip(int count) {
         for (int i = 0; i < count; i++) {
-            var b = peek();
-            if (!peekRLPNull(b, false)) {
-                if (b < 0xc0) {
-                    peekRLPString(b);
-                } else {
-                    peekRLPListHeader(b);
+            peekItem(peek());
+            bb.position(o + l);
+        }
+    }
+
+    private void peekItem(int b) {
+        if (!peekRLPNull(b, false)) {
+            if (b < 0xc0) {
+                peekRLPString(b);
+            } else {
+                peekRLPListHeader(b);
+            }
+        }
+    }
+
+    /**
+     * Returns offsets of remaining items in the current list without
+     * moving the position. Use {@link #seek(ItemIndex, int)} with the
+     * returned index to read an item. The index is valid for any reader
+     * over the same bytes.
+     * @return offsets of the items
+     */
+    public ItemIndex indexItems() {
+        var offsets = new int[8];
+        int n = 0;
+        var pos = bb.position();
+        try {
+            while (bb.position() < topFrame.endPos) {
+                if (n == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, n * 2);
                 }
+                offsets[n++] = bb.position();
+                peekItem(peek());
+                bb.position(o + l);
             }
-            bb.position(o + l);
+        } finally {
+            bb.position(pos);
+        }
+        return new ItemIndex(topFrame.startPos, topFrame.endPos, Arrays.copyOf(offsets, n));
+    }
+
+    /**
+     * Moves the position to the item in the current list.
+     * @param index index returned by {@link #indexItems()} in the current
+     *              list
+     * @param i index of the item
+     * @throws IllegalStateException if the index isn't for the current list
+     */
+    public void seek(ItemIndex index, int i) {
+        if (index.listStart != topFrame.startPos || index.listEnd != topFrame.endPos) {
+            throw new IllegalStateException("InvalidItemIndex(list=" + index.listStart
+                    + ",current=" + topFrame.startPos + ")");
         }
+        bb.position(index.offsetOf(i));
     }
 
     private void _readRLPListHeader() {
@@ -217,6 +374,7 @@ public abstract class AbstractRLPDataReader implements DataReader {
         peekRLPListHeader(b);
         bb.position(o);
         topFrame = new ListFrame();
+        topFrame.startPos = bb.position();
         topFrame.endPos = bb.position() + l;
         frames.add(topFrame);
     }
@@ -18,7 +18,6 @@ package foundation.icon.ee.io;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Arrays;
 
 public abstract class AbstractRLPDataWriter implements DataWriter {
@@ -26,15 +25,30 @@ public abstract class AbstractRLPDataWriter implements DataWriter {
     private static final int SHORT_LEN_LIMIT = 55;
     private static final int LONG_BASE = 0xb7;
 
-    private ArrayList<ByteArrayBuilder> frames = new ArrayList<>();
-    private ByteArrayBuilder os;
+    private static final int INITIAL_LISTS = 8;
+
+    // All items are written to a single buffer without list headers. For
+    // each list, its position in the buffer and its length are recorded,
+    // and headers are put on the way in toByteArray().
+    private final ByteArrayBuilder os;
+    private int[] listPos = new int[INITIAL_LISTS];
+    private int[] listLen = new int[INITIAL_LISTS];
+    private int lists;
+    private int[] frames = new int[INITIAL_LISTS];
+    private int depth;
+    private int headerBytes;
 
     public AbstractRLPDataWriter() {
         os = new ByteArrayBuilder();
-        frames.add(os);
     }
 
     protected abstract byte[] toByteArray(BigInteger bi);
+
+    /**
+     * Returns the number of big-endian bytes for the value. The value is
+     * written with the lowest bytes of it.
+     */
+    protected abstract int lengthOf(long v);
     protected abstract void writeNullity(ByteArrayBuilder os, boolean nullity);
 
     private void writeRLPString(byte[] bs) {
@@ -69,24 +83,36 @@ public abstract class AbstractRLPDataWriter implements DataWriter {
         }
     }
 
+    private void writeRLPLong(long v) {
+        int l = lengthOf(v);
+        if (l == 1 && (v & 0xff) < SHORT_BASE) {
+            os.write((int) v);
+            return;
+        }
+        os.write(SHORT_BASE + l);
+        for (int i = l - 1; i >= 0; i--) {
+            os.write((int) (v >> (i * 8)));
+        }
+    }
+
     public void write(boolean v) {
-        writeRLPString(toByteArray(BigInteger.valueOf(v ? 1 : 0)));
+        writeRLPLong(v ? 1 : 0);
     }
 
     public void write(byte v) {
-        writeRLPString(toByteArray(BigInteger.valueOf(v)));
+        writeRLPLong(v);
     }
 
     public void write(short v) {
-        writeRLPString(toByteArray(BigInteger.valueOf(v)));
+        writeRLPLong(v);
     }
 
     public void write(char v) {
-        writeRLPString(toByteArray(BigInteger.valueOf((int)v)));
+        writeRLPLong(v);
     }
 
     public void write(int v) {
-        writeRLPString(toByteArray(BigInteger.valueOf(v)));
+        writeRLPLong(v);
     }
 
     public void write(float v) {
@@ -99,7 +125,7 @@ public abstract class AbstractRLPDataWriter implements DataWriter {
     }
 
     public void write(long v) {
-        writeRLPString(toByteArray(BigInteger.valueOf(v)));
+        writeRLPLong(v);
     }
 
     public void write(double v) {
@@ -140,43 +166,59 @@ public abstract class AbstractRLPDataWriter implements DataWriter {
     }
 
     private void _writeRLPListHeader() {
-        os = new ByteArrayBuilder();
-        frames.add(os);
+        if (lists == listPos.length) {
+            listPos = Arrays.copyOf(listPos, lists * 2);
+            listLen = Arrays.copyOf(listLen, lists * 2);
+        }
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, depth * 2);
+        }
+        listPos[lists] = os.size();
+        // header bytes of nested lists until the footer
+        listLen[lists] = 0;
+        frames[depth++] = lists++;
     }
 
-    private void _writeRLPListFooter() {
-        var prev = os;
-        var l = prev.size();
-        frames.remove(frames.size() - 1);
-        os = frames.get(frames.size() - 1);
+    private static int listHeaderSize(int l) {
         if (l <= 55) {
-            os.write(0xc0 + l);
-            os.write(prev.array(), 0, prev.size());
+            return 1;
         } else if (l <= 0xff) {
-            os.write(0xf8);
-            os.write(l);
-            os.write(prev.array(), 0, prev.size());
+            return 2;
         } else if (l <= 0xffff) {
-            os.write(0xf9);
-            os.write((l >> 8) & 0xff);
-            os.write(l & 0xff);
-            os.write(prev.array(), 0, prev.size());
+            return 3;
         } else if (l <= 0xffffff) {
-            os.write(0xfa);
-            os.write((l >> 16) & 0xff);
-            os.write((l >> 8) & 0xff);
-            os.write(l & 0xff);
-            os.write(prev.array(), 0, prev.size());
+            return 4;
         } else {
-            os.write(0xfb);
-            os.write((l >> 24) & 0xff);
-            os.write((l >> 16) & 0xff);
-            os.write((l >> 8) & 0xff);
-            os.write(l & 0xff);
-            os.write(prev.array(), 0, prev.size());
+            return 5;
         }
     }
 
+    private void _writeRLPListFooter() {
+        var idx = frames[--depth];
+        var nested = listLen[idx];
+        var l = os.size() - listPos[idx] + nested;
+        listLen[idx] = l;
+        var hl = listHeaderSize(l);
+        if (depth > 0) {
+            listLen[frames[depth - 1]] += nested + hl;
+        }
+        headerBytes += hl;
+    }
+
+    private static int writeRLPListHeader(byte[] out, int pos, int l) {
+        var hl = listHeaderSize(l);
+        if (hl == 1) {
+            out[pos] = (byte) (0xc0 + l);
+        } else {
+            out[pos] = (byte) (0xf7 + hl - 1);
+            for (int i = hl - 1; i > 0; i--) {
+                out[pos + i] = (byte) l;
+                l >>= 8;
+            }
+        }
+        return pos + hl;
+    }
+
     public void writeFooter() {
         _writeRLPListFooter();
     }
@@ -186,10 +228,34 @@ public abstract class AbstractRLPDataWriter implements DataWriter {
     }
 
     public byte[] toByteArray() {
-        return Arrays.copyOfRange(os.array(), 0, os.size());
+        var buf = os.array();
+        if (lists == 0) {
+            return Arrays.copyOfRange(buf, 0, os.size());
+        }
+        var out = new byte[os.size() + headerBytes];
+        int src = 0;
+        int dst = 0;
+        for (int i = 0; i < lists; i++) {
+            var n = listPos[i] - src;
+            System.arraycopy(buf, src, out, dst, n);
+            src += n;
+            dst = writeRLPListHeader(out, dst + n, listLen[i]);
+        }
+        System.arraycopy(buf, src, out, dst, os.size() - src);
+        return out;
+    }
+
+    /**
+     * Discards written items. The buffers are kept for later writes.
+     */
+    public void reset() {
+        os.resize(0);
+        lists = 0;
+        depth = 0;
+        headerBytes = 0;
     }
 
     public long getTotalWrittenBytes() {
-        return os.size();
+        return os.size() + headerBytes;
     }
 }
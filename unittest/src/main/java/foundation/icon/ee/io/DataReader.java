@@ -22,4 +22,5 @@ public interface DataReader {
     boolean hasNext();
     void readFooter();
     long getTotalReadBytes();
+    void reset(byte[] data);
 }
@@ -22,5 +22,6 @@ public interface DataWriter {
 
     void flush();
     byte[] toByteArray();
+    void reset();
     long getTotalWrittenBytes();
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package foundation.icon.ee.io;
+
+/**
+ * Offsets of items in a list made by
+ * {@link AbstractRLPDataReader#indexItems()}. It's valid for any reader
+ * over the same bytes while the reader is in the same list.
+ */
+public final class ItemIndex {
+    final int listStart;
+    final int listEnd;
+    private final int[] offsets;
+
+    ItemIndex(int listStart, int listEnd, int[] offsets) {
+        this.listStart = listStart;
+        this.listEnd = listEnd;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns the number of items in the index.
+     * @return number of items
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    int offsetOf(int i) {
+        return offsets[i];
+    }
+}
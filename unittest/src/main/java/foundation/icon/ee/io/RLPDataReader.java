@@ -17,12 +17,17 @@
 package foundation.icon.ee.io;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 public class RLPDataReader extends AbstractRLPDataReader implements DataReader {
     public RLPDataReader(byte[] data) {
         super(data);
     }
 
+    public RLPDataReader(ByteBuffer bb) {
+        super(bb);
+    }
+
     @Override
     protected int peekNull(byte[] ba, int offset, int len, boolean forRead) {
         if (forRead) {
@@ -38,4 +43,13 @@ public class RLPDataReader extends AbstractRLPDataReader implements DataReader {
         }
         return new BigInteger(1, ba, offset, len);
     }
+
+    @Override
+    protected long peekLong(byte[] ba, int offset, int len) {
+        long v = 0;
+        for (int i = 0; i < len; i++) {
+            v = (v << 8) | (ba[offset + i] & 0xff);
+        }
+        return v;
+    }
 }
@@ -32,6 +32,14 @@ public class RLPDataWriter extends AbstractRLPDataWriter implements DataWriter {
         return ba;
     }
 
+    @Override
+    protected int lengthOf(long v) {
+        if (v < 0) {
+            throw new IllegalArgumentException("cannot encode negative integer");
+        }
+        return (Long.SIZE - Long.numberOfLeadingZeros(v) + 7) / 8;
+    }
+
     @Override
     protected void writeNullity(ByteArrayBuilder os, boolean nullity) {
         throw new UnsupportedOperationException("Cannot write null or nullable in RLP codec");
@@ -17,12 +17,17 @@
 package foundation.icon.ee.io;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 public class RLPNDataReader extends AbstractRLPDataReader implements DataReader {
     public RLPNDataReader(byte[] data) {
         super(data);
     }
 
+    public RLPNDataReader(ByteBuffer bb) {
+        super(bb);
+    }
+
     @Override
     protected int peekNull(byte[] ba, int offset, int len, boolean forRead) {
         if (len < 2) {
@@ -38,4 +43,13 @@ public class RLPNDataReader extends AbstractRLPDataReader implements DataReader
     protected BigInteger peekBigInteger(byte[] ba, int offset, int len) {
         return new BigInteger(ba, offset, len);
     }
+
+    @Override
+    protected long peekLong(byte[] ba, int offset, int len) {
+        long v = ba[offset];
+        for (int i = 1; i < len; i++) {
+            v = (v << 8) | (ba[offset + i] & 0xff);
+        }
+        return v;
+    }
 }
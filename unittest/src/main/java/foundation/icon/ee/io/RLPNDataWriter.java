@@ -25,6 +25,11 @@ public class RLPNDataWriter extends AbstractRLPDataWriter implements DataWriter
         return bi.toByteArray();
     }
 
+    @Override
+    protected int lengthOf(long v) {
+        return (Long.SIZE - Long.numberOfLeadingZeros(v ^ (v >> 63))) / 8 + 1;
+    }
+
     @Override
     protected void writeNullity(ByteArrayBuilder os, boolean nullity) {
         if (nullity) {
@@ -16,9 +16,12 @@
 
 package score;
 
+import java.util.Arrays;
+
 public class Address {
     public static final int LENGTH = 21;
     private final byte[] raw = new byte[LENGTH];
+    private final int hash;
 
     public Address(byte[] raw) throws IllegalArgumentException {
         if (raw == null) {
@@ -28,6 +31,11 @@ public class Address {
             throw new IllegalArgumentException();
         }
         System.arraycopy(raw, 0, this.raw, 0, LENGTH);
+        int code = 0;
+        for (byte b : this.raw) {
+            code += b;
+        }
+        this.hash = code;
     }
 
     public static Address fromString(String str) {
@@ -62,24 +70,19 @@ public class Address {
 
     @Override
     public int hashCode() {
-        int code = 0;
-        for (byte b : this.raw) {
-            code += b;
-        }
-        return code;
+        return hash;
     }
 
     @Override
     public boolean equals(Object obj) {
-        boolean isEqual = this == obj;
-        if (!isEqual && (obj instanceof Address)) {
-            Address other = (Address) obj;
-            isEqual = true;
-            for (int i = 0; isEqual && (i < LENGTH); ++i) {
-                isEqual = (this.raw[i] == other.raw[i]);
-            }
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Address)) {
+            return false;
         }
-        return isEqual;
+        Address other = (Address) obj;
+        return this.hash == other.hash && Arrays.equals(this.raw, other.raw);
     }
 
     @Override
@@ -18,4 +18,9 @@ package score;
 
 public interface ByteArrayObjectWriter extends ObjectWriter {
     byte[] toByteArray();
+
+    /**
+     * Discards written objects so that the writer can be used again.
+     */
+    void reset();
 }
@@ -200,6 +200,19 @@ public final class Context extends TestBase {
         throw new IllegalArgumentException("Unsupported curve " + curve);
     }
 
+    public static byte[] ecMultiScalarMul(String curve, byte[] scalars, byte[] data, boolean compressed) {
+        require(null != curve, "Elliptic curve can't be NULL");
+        require(null != scalars, "Scalars can't be NULL");
+        require(null != data, "Data can't be NULL");
+        switch (curve) {
+            case "bls12-381-g1":
+                return Crypto.bls12381G1MultiScalarMul(scalars, data, compressed);
+            case "bls12-381-g2":
+                return Crypto.bls12381G2MultiScalarMul(scalars, data, compressed);
+        }
+        throw new IllegalArgumentException("Unsupported curve " + curve);
+    }
+
     public static boolean ecPairingCheck(String curve, byte[] data, boolean compressed) {
         require(null != curve, "Elliptic curve can't be NULL");
         require(null != data, "Data can't be NULL");
@@ -19,13 +19,13 @@ package score;
 import com.iconloop.score.test.Account;
 import com.iconloop.score.test.Event;
 import com.iconloop.score.test.ManualRevertException;
-import com.iconloop.score.test.OutOfBalanceException;
 import com.iconloop.score.test.Score;
 import com.iconloop.score.test.ServiceManager;
 import com.iconloop.score.test.TExternal;
 import com.iconloop.score.test.TOptional;
 import com.iconloop.score.test.TScore;
 import com.iconloop.score.test.WorldState;
+import score.impl.AddressPool;
 import score.impl.AnyDBImpl;
 import score.impl.Crypto;
 import score.impl.TypeConverter;
@@ -35,10 +35,13 @@ import java.lang.reflect.Executable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Stack;
 
@@ -95,7 +98,7 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
         }
 
         public TransactionInfo next() {
-            return new TransactionInfo(block, index+1);
+            return new TransactionInfo(block, block.nextTransactionIndex());
         }
     }
 
@@ -106,24 +109,33 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
     private TXIScope setupTransactionInfo(boolean forTx) {
         var txi = txInfo.get();
         if (txi == null) {
-            txInfo.set(new TransactionInfo(
-                    Block.next(),
-                    forTx ? 0 : TransactionInfo.kInvalidIndex
-            ));
-            eventLogger = new EventLogger();
-            return () -> {
-                txInfo.set(null);
-                lastLogs = eventLogger.getLogs();
-                eventLogger = null;
-            };
+            return setupTransactionInfo(Block.next(), forTx);
         } else if (forTx) {
             txInfo.set(txi.next());
             eventLogger = new EventLogger();
         }
+        return this::closeEventLogger;
+    }
+
+    private TXIScope setupTransactionInfo(Block blk, boolean forTx) {
+        txInfo.set(new TransactionInfo(
+                blk,
+                forTx ? blk.nextTransactionIndex() : TransactionInfo.kInvalidIndex
+        ));
+        eventLogger = new EventLogger();
         return () -> {
+            txInfo.set(null);
+            closeEventLogger();
+        };
+    }
+
+    // The logger may be closed already by a transaction in a scheduled
+    // action.
+    private void closeEventLogger() {
+        if (eventLogger != null) {
             lastLogs = eventLogger.getLogs();
             eventLogger = null;
-        };
+        }
     }
 
     @Override
@@ -166,15 +178,18 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
     }
 
     private Address nextAddress(boolean isContract) {
+        return addressOf(isContract, ++nextCount);
+    }
+
+    private static Address addressOf(boolean isContract, int seed) {
         var ba = new byte[Address.LENGTH];
         ba[0] = isContract ? (byte)1 :(byte)0;
-        var seed = ++nextCount;
         var index = ba.length - 1;
         ba[index--] = (byte) seed;
         ba[index--] = (byte) (seed >> 8);
         ba[index--] = (byte) (seed >> 16);
         ba[index] = (byte) (seed >> 24);
-        return new Address(ba);
+        return AddressPool.of(ba);
     }
 
     Account createAccount(Address address) {
@@ -201,6 +216,36 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
         return acct;
     }
 
+    @Override
+    public List<Account> createAccounts(int count, BigInteger initialBalance) {
+        if (count < 0) {
+            throw new IllegalArgumentException("NegativeCount(count="+count+")");
+        }
+        if (initialBalance.signum() < 0) {
+            throw new IllegalArgumentException("NegativeBalance(balance="+initialBalance+")");
+        }
+        if (count > Integer.MAX_VALUE - nextCount) {
+            throw new IllegalArgumentException("TooManyAccounts(count="+count+")");
+        }
+        var first = nextCount + 1;
+        nextCount += count;
+        if (count > 0 && initialBalance.signum() > 0) {
+            state.addAccountRange(addressOf(false, first), count, initialBalance);
+        }
+        return new AbstractList<>() {
+            @Override
+            public Account get(int index) {
+                Objects.checkIndex(index, count);
+                return getAccount(addressOf(false, first + index));
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
     @Override
     public Account getAccount(Address addr) {
         if (addr == null) {
@@ -356,14 +401,11 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
     }
 
     private void handleTransfer(Account from, Address targetAddress, BigInteger value) {
-        var fromBalance = from.getBalance();
-        if (fromBalance.compareTo(value) < 0) {
-            throw new OutOfBalanceException("OutOfBalance(from="+from.getAddress()+",balance="+fromBalance+",value="+value+")");
-        }
-        var to = getAccount(targetAddress);
         try {
             state.push();
+            // it throws OutOfBalanceException before any change
             from.subtractBalance(value);
+            var to = getAccount(targetAddress);
             to.addBalance(value);
             if (targetAddress.isContract()) {
                 handleCall(from, value, false, false, targetAddress, "fallback");
@@ -415,8 +457,34 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
         // 2 seconds ( 2_000_000 micro-seconds )
         private static long sBlockInterval = 2_000_000;
 
+        // 2023-01-01T00:00:00Z for genesis blocks from seeds
+        private static final long kSeedTimestamp = 1_672_531_200_000_000L;
+
+        private static final PriorityQueue<Hook> sHooks = new PriorityQueue<>();
+        private static long sHookCount;
+        private static boolean sRunningHook;
+
         private final long height;
         private final long timestamp;
+        private int txCount;
+
+        private static class Hook implements Comparable<Hook> {
+            private final long height;
+            private final long seq;
+            private final Runnable action;
+
+            Hook(long height, long seq, Runnable action) {
+                this.height = height;
+                this.seq = seq;
+                this.action = action;
+            }
+
+            @Override
+            public int compareTo(Hook o) {
+                int c = Long.compare(height, o.height);
+                return c != 0 ? c : Long.compare(seq, o.seq);
+            }
+        }
 
         private Block(long height, long timestamp) {
             this.height = height;
@@ -431,6 +499,36 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
             return sLast;
         }
 
+        static void setGenesis(long height, long timestamp, long interval) {
+            if (txInfo.get() != null || sRunningHook) {
+                throw new IllegalStateException("NotAllowedToResetBlock");
+            }
+            if (height < 0) {
+                throw new IllegalArgumentException("InvalidHeight(height=" + height + ")");
+            }
+            if (timestamp < 0) {
+                throw new IllegalArgumentException("InvalidTimestamp(timestamp=" + timestamp + ")");
+            }
+            if (interval <= 0) {
+                throw new IllegalArgumentException("InvalidBlockInterval(interval=" + interval + ")");
+            }
+            sBlockInterval = interval;
+            sLast = new Block(height, timestamp);
+            sHooks.clear();
+        }
+
+        static void setSeed(long seed) {
+            var height = new Random(seed).nextInt(1000);
+            setGenesis(height, kSeedTimestamp + height * sBlockInterval, sBlockInterval);
+        }
+
+        static void addHook(long height, Runnable action) {
+            if (height <= getLast().height) {
+                throw new IllegalArgumentException("InvalidHeight(height=" + height + ",last=" + getLast().height + ")");
+            }
+            sHooks.add(new Hook(height, sHookCount++, action));
+        }
+
         public long getHeight() {
             return height;
         }
@@ -447,10 +545,20 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
             next(delta);
         }
 
+        public void advanceTo(long height) {
+            next(height - getLast().height);
+        }
+
         public String toString() {
             return "Block(height="+height+",ts="+timestamp+")";
         }
 
+        // Scheduled actions and a transaction which advanced the block to
+        // the same height share the block, so indexes continue.
+        int nextTransactionIndex() {
+            return txCount++;
+        }
+
         public byte[] hashOfTransactionAt(int idx) {
             return Crypto.sha3_256((this+":"+idx).getBytes());
         }
@@ -463,18 +571,46 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
             return next(delta, delta*sBlockInterval);
         }
 
+        // Returns duration * d / delta. The product may not fit in long for
+        // a long jump of blocks, but the result does as d <= delta.
+        private static long durationOf(long duration, long d, long delta) {
+            var rem = BigInteger.valueOf(duration % delta)
+                    .multiply(BigInteger.valueOf(d))
+                    .divide(BigInteger.valueOf(delta));
+            return duration / delta * d + rem.longValue();
+        }
+
+        // Hooks at heights up to the new block are called in order of the
+        // height, and the last block is the one at the height of the hook
+        // while it's called.
         static Block next(long delta, long duration) {
-            if (txInfo.get() != null) {
+            if (txInfo.get() != null || sRunningHook) {
                 throw new IllegalStateException("NotAllowedToAdvanceBlock");
             }
             if (delta <= 0) {
                 throw new IllegalArgumentException("InvalidHeightDelta(delta=" + delta + ")");
             }
             if (duration <= 0) {
-                throw new IllegalArgumentException("InvalidBlockDuration(duration=" + delta + ")");
+                throw new IllegalArgumentException("InvalidBlockDuration(duration=" + duration + ")");
             }
             var last = getLast();
-            sLast = new Block(last.height + delta, last.timestamp + duration);
+            var height = last.height + delta;
+            while (!sHooks.isEmpty() && sHooks.peek().height <= height) {
+                var hook = sHooks.peek();
+                var blk = new Block(hook.height,
+                        last.timestamp + durationOf(duration, hook.height - last.height, delta));
+                sHooks.poll();
+                sLast = blk;
+                sRunningHook = true;
+                try {
+                    hook.action.run();
+                } finally {
+                    sRunningHook = false;
+                }
+            }
+            if (sLast.height != height) {
+                sLast = new Block(height, last.timestamp + duration);
+            }
             return sLast;
         }
     }
@@ -483,6 +619,36 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
         return Block.getLast();
     }
 
+    @Override
+    public void setGenesisBlock(long height, long timestamp, long interval) {
+        Block.setGenesis(height, timestamp, interval);
+    }
+
+    @Override
+    public void setBlockSeed(long seed) {
+        Block.setSeed(seed);
+    }
+
+    @Override
+    public void addBlockHook(long height, Runnable hook) {
+        if (hook == null) {
+            throw new NullPointerException("HookIsNull");
+        }
+        Block.addHook(height, hook);
+    }
+
+    @Override
+    public void scheduleAt(long height, Runnable action) {
+        if (action == null) {
+            throw new NullPointerException("ActionIsNull");
+        }
+        Block.addHook(height, () -> {
+            try (var scope = setupTransactionInfo(Block.getLast(), true)) {
+                action.run();
+            }
+        });
+    }
+
     public static class Frame {
         Account from;
         Account to;
@@ -721,4 +887,19 @@ class ServiceManagerImpl extends ServiceManager implements AnyDBImpl.ValueStore
     public List<Event> getLastEventLogs() {
         return lastLogs;
     }
+
+    @Override
+    public BigInteger getTokenSupply(String symbol) {
+        return state.getTokenSupply(symbol);
+    }
+
+    @Override
+    public List<Account> getTopTokenHolders(String symbol, int n) {
+        var holders = state.getTopTokenHolders(symbol, n);
+        var accounts = new Account[holders.size()];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = getAccount(holders.get(i));
+        }
+        return List.of(accounts);
+    }
 }
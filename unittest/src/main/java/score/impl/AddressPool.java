@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import score.Address;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Optional intern pool of {@link Address} instances.
+ * <p>
+ * When it's enabled, addresses read from storage, converted by
+ * {@link TypeConverter} or created for new accounts are replaced with a
+ * canonical instance, so equal addresses are usually the same object.
+ * Instances are weakly referenced and dropped from the pool once they are
+ * not used anymore. It's disabled by default.
+ */
+public class AddressPool {
+    private static volatile Map<Address, WeakReference<Address>> pool;
+
+    private AddressPool() {
+    }
+
+    public static synchronized void enable() {
+        if (pool == null) {
+            pool = new WeakHashMap<>();
+        }
+    }
+
+    public static synchronized void disable() {
+        pool = null;
+    }
+
+    public static boolean isEnabled() {
+        return pool != null;
+    }
+
+    /**
+     * Returns the canonical instance equal to the address. If the pool is
+     * disabled, it returns the address.
+     */
+    public static Address intern(Address addr) {
+        var p = pool;
+        if (p == null) {
+            return addr;
+        }
+        synchronized (p) {
+            var ref = p.get(addr);
+            if (ref != null) {
+                var v = ref.get();
+                if (v != null) {
+                    return v;
+                }
+            }
+            p.put(addr, new WeakReference<>(addr));
+            return addr;
+        }
+    }
+
+    /**
+     * Returns an address of the bytes. It's interned if the pool is enabled.
+     */
+    public static Address of(byte[] raw) {
+        return intern(new Address(raw));
+    }
+
+    /**
+     * Returns the number of addresses in the pool. It may include addresses
+     * which are not reachable anymore.
+     */
+    public static int size() {
+        var p = pool;
+        if (p == null) {
+            return 0;
+        }
+        synchronized (p) {
+            return p.size();
+        }
+    }
+}
@@ -30,34 +30,39 @@ import org.bouncycastle.util.BigIntegers;
 import score.impl.bls12381.BLS12381;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 public class Crypto {
+    // digests are reset after each digest() call, so they can be reused
+    private static final ThreadLocal<MessageDigest> sha3_256Digest = digestOf("SHA3-256");
+    private static final ThreadLocal<MessageDigest> sha256Digest = digestOf("SHA-256");
+    private static final ThreadLocal<MessageDigest> keccak256Digest =
+            ThreadLocal.withInitial(Keccak.Digest256::new);
+
+    private static ThreadLocal<MessageDigest> digestOf(String alg) {
+        return ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance(alg);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Unexpected throwable", e);
+            }
+        });
+    }
 
     public static byte[] sha3_256(byte[] msg) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA3-256");
-            return digest.digest(msg);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Unexpected throwable", e);
-        }
+        return sha3_256Digest.get().digest(msg);
     }
 
     public static byte[] sha256(byte[] msg) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            return digest.digest(msg);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Unexpected throwable", e);
-        }
+        return sha256Digest.get().digest(msg);
     }
 
     public static byte[] keccack256(byte[] msg) {
-        Keccak.DigestKeccak keccak = new Keccak.Digest256();
-        keccak.update(msg);
-        return keccak.digest();
+        return keccak256Digest.get().digest(msg);
     }
 
     static void require(boolean cond, String msg) {
@@ -66,19 +71,73 @@ public class Crypto {
         }
     }
 
-    public static byte[] hash(String alg, byte[] msg) {
+    static MessageDigest digestFor(String alg) {
         switch (alg) {
             case "sha-256":
-                return sha256(msg);
+                return sha256Digest.get();
             case "sha3-256":
-                return sha3_256(msg);
+                return sha3_256Digest.get();
             case "keccak-256":
-                return keccack256(msg);
+                return keccak256Digest.get();
         }
         throw new IllegalArgumentException("Unsupported algorithm " + alg);
     }
 
+    public static byte[] hash(String alg, byte[] msg) {
+        return digestFor(alg).digest(msg);
+    }
+
+    /**
+     * Returns hash of bytes between the position and the limit of the
+     * buffer without copying them. The position of the buffer is advanced
+     * to the limit.
+     * @param alg hash algorithm
+     * @param msg message to hash
+     * @return hash of the message
+     */
+    public static byte[] hash(String alg, ByteBuffer msg) {
+        var digest = digestFor(alg);
+        digest.update(msg);
+        return digest.digest();
+    }
+
+    private static volatile SignatureCache signatureCache;
+
+    /**
+     * Enables caching of results of {@link #recoverKey} and
+     * {@link #verifySignature}. Existing cache is discarded.
+     * @param capacity maximum number of entries
+     * @return the cache
+     */
+    public static SignatureCache enableSignatureCache(int capacity) {
+        require(capacity > 0, "capacity must be positive");
+        var cache = new SignatureCache(capacity);
+        signatureCache = cache;
+        return cache;
+    }
+
+    public static void disableSignatureCache() {
+        signatureCache = null;
+    }
+
+    /**
+     * Returns the signature cache.
+     * @return the cache or null if it's not enabled
+     */
+    public static SignatureCache getSignatureCache() {
+        return signatureCache;
+    }
+
     public static boolean verifySignature(String alg, byte[] msg, byte[] sig, byte[] pk) {
+        var cache = signatureCache;
+        if (cache != null) {
+            return cache.verifySignature(alg, msg, sig, pk,
+                    () -> doVerifySignature(alg, msg, sig, pk));
+        }
+        return doVerifySignature(alg, msg, sig, pk);
+    }
+
+    private static boolean doVerifySignature(String alg, byte[] msg, byte[] sig, byte[] pk) {
         switch (alg) {
             case "ed25519": {
                 require(sig.length == Ed25519.SIGNATURE_SIZE, "invalid signature length");
@@ -101,7 +160,49 @@ public class Crypto {
         throw new IllegalArgumentException("Unsupported algorithm " + alg);
     }
 
+    /**
+     * Verifies signatures. The result for each signature is the same as
+     * {@link #verifySignature(String, byte[], byte[], byte[])}. Signatures
+     * are verified in parallel for ed25519 and ecdsa-secp256k1, and with
+     * batch verification for bls12-381-g2.
+     * @param alg signature algorithm
+     * @param msgs messages
+     * @param sigs signatures
+     * @param pks public keys
+     * @return verification result of each signature
+     */
+    public static boolean[] verifySignatures(String alg, byte[][] msgs, byte[][] sigs, byte[][] pks) {
+        require(msgs.length == sigs.length && msgs.length == pks.length,
+                "the numbers of messages, signatures and public keys must be same");
+        switch (alg) {
+            case "ed25519":
+            case "ecdsa-secp256k1": {
+                var results = new boolean[msgs.length];
+                IntStream.range(0, msgs.length).parallel().forEach(i ->
+                        results[i] = verifySignature(alg, msgs[i], sigs[i], pks[i]));
+                return results;
+            }
+            case "bls12-381-g2": {
+                for (int i = 0; i < msgs.length; i++) {
+                    require(pks[i].length == BLS12381.G1_LEN, "invalid public key length");
+                    require(sigs[i].length == BLS12381.G2_LEN, "invalid signature length");
+                }
+                return BLS12381.verifyG2Signatures(pks, sigs, msgs);
+            }
+        }
+        throw new IllegalArgumentException("Unsupported algorithm " + alg);
+    }
+
     public static byte[] recoverKey(String alg, byte[] msg, byte[] sig, boolean compressed) {
+        var cache = signatureCache;
+        if (cache != null) {
+            return cache.recoverKey(alg, msg, sig, compressed,
+                    () -> doRecoverKey(alg, msg, sig, compressed));
+        }
+        return doRecoverKey(alg, msg, sig, compressed);
+    }
+
+    private static byte[] doRecoverKey(String alg, byte[] msg, byte[] sig, boolean compressed) {
         if ("ecdsa-secp256k1".equals(alg)) {
             require(msg.length == 32, "the length of msgHash must be 32");
             require(sig.length == 65, "the length of signature must be 65");
@@ -147,8 +248,15 @@ public class Crypto {
     private final static ECDomainParameters curve = new ECDomainParameters(
             curveParams.getCurve(), curveParams.getG(), curveParams.getN(), curveParams.getH());
 
+    private final static PointCache<ECPoint> secp256k1Points =
+            new PointCache<>(curve.getCurve()::decodePoint, null);
+
+    public static PointCache<ECPoint> getSecp256k1PointCache() {
+        return secp256k1Points;
+    }
+
     private static byte[] uncompressKey(byte[] compKey) {
-        ECPoint point = curve.getCurve().decodePoint(compKey);
+        ECPoint point = secp256k1Points.get(compKey);
         byte[] x = point.getXCoord().getEncoded();
         byte[] y = point.getYCoord().getEncoded();
         byte[] key = new byte[x.length + y.length + 1];
@@ -177,15 +285,16 @@ public class Crypto {
         if (x.compareTo(prime) >= 0) {
             return null;
         }
+        // secp256k1 has cofactor 1, so every point on the curve, which is
+        // checked by decoding, is in the group of order n.
         ECPoint ecPoint = decompressKey(x, (recId & 1) == 1);
-        if (!ecPoint.multiply(n).isInfinity()) {
-            return null;
-        }
         BigInteger e = new BigInteger(1, message);
         BigInteger eInv = BigInteger.ZERO.subtract(e).mod(n);
         BigInteger rInv = r.modInverse(n);
         BigInteger srInv = rInv.multiply(s).mod(n);
         BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
+        // it uses GLV endomorphism of the curve and the precomputed table
+        // of G kept with the point.
         ECPoint q = ECAlgorithms.sumOfTwoMultiplies(curve.getG(), eInvrInv, ecPoint, srInv);
         return q.getEncoded(compressed);
     }
@@ -236,6 +345,26 @@ public class Crypto {
         }
     }
 
+    public static byte[] bls12381G1MultiScalarMul(byte[] scalars, byte[] data, boolean compressed) {
+        try {
+            return BLS12381.g1MultiScalarMul(scalars, data, compressed);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    public static byte[] bls12381G2MultiScalarMul(byte[] scalars, byte[] data, boolean compressed) {
+        try {
+            return BLS12381.g2MultiScalarMul(scalars, data, compressed);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
     public static boolean bls12381PairingCheck(byte[] data, boolean compressed) {
         try {
             return BLS12381.pairingCheck(data, compressed);
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import score.ObjectReader;
+import score.ObjectWriter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Resolved {@code writeObject} and {@code readObject} methods of user
+ * classes.
+ * <p>
+ * Methods are resolved once per class and kept with the class, including
+ * the failure of the resolution.
+ */
+class CustomCodec {
+    private static final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    private static final MethodType kWriterType =
+            MethodType.methodType(void.class, ObjectWriter.class, Object.class);
+    private static final MethodType kReaderType =
+            MethodType.methodType(Object.class, ObjectReader.class);
+
+    private static final ClassValue<CustomCodec> codecs = new ClassValue<>() {
+        @Override
+        protected CustomCodec computeValue(Class<?> type) {
+            return new CustomCodec(type);
+        }
+    };
+
+    private final MethodHandle writer;
+    private final Exception writerError;
+    private final MethodHandle reader;
+    private final Exception readerError;
+
+    private CustomCodec(Class<?> c) {
+        MethodHandle h = null;
+        Exception error = null;
+        try {
+            h = resolve(c.getDeclaredMethod("writeObject", ObjectWriter.class, c), kWriterType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            error = e;
+        }
+        writer = h;
+        writerError = error;
+
+        h = null;
+        error = null;
+        try {
+            h = resolve(c.getDeclaredMethod("readObject", ObjectReader.class), kReaderType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            error = e;
+        }
+        reader = h;
+        readerError = error;
+    }
+
+    private static MethodHandle resolve(Method m, MethodType type) throws IllegalAccessException {
+        if ((m.getModifiers()& Modifier.STATIC) == 0
+                || (m.getModifiers()&Modifier.PUBLIC) == 0) {
+            return null;
+        }
+        return lookup.unreflect(m).asType(type);
+    }
+
+    static CustomCodec of(Class<?> c) {
+        return codecs.get(c);
+    }
+
+    void write(ObjectWriter w, Object v) {
+        if (writer == null) {
+            throw failure(writerError);
+        }
+        try {
+            writer.invokeExact(w, v);
+        } catch (Throwable t) {
+            throw failure(new InvocationTargetException(t));
+        }
+    }
+
+    Object read(ObjectReader r) {
+        if (reader == null) {
+            throw failure(readerError);
+        }
+        try {
+            return (Object) reader.invokeExact(r);
+        } catch (Throwable t) {
+            throw failure(new InvocationTargetException(t));
+        }
+    }
+
+    private static IllegalArgumentException failure(Exception e) {
+        if (e != null) {
+            e.printStackTrace();
+        }
+        return new IllegalArgumentException();
+    }
+}
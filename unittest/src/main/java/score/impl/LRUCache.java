@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU map with hit and miss counters, shared by
+ * {@link PointCache} and {@link SignatureCache}.
+ */
+class LRUCache<K, V> {
+    private final LinkedHashMap<K, V> entries;
+    private int capacity;
+    private long hits;
+    private long misses;
+
+    LRUCache(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LRUCache.this.capacity;
+            }
+        };
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("negative capacity");
+        }
+    }
+
+    synchronized V get(K key) {
+        var v = entries.get(key);
+        if (v != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return v;
+    }
+
+    synchronized void put(K key, V value) {
+        if (capacity > 0) {
+            entries.put(key, value);
+        }
+    }
+
+    synchronized int getCapacity() {
+        return capacity;
+    }
+
+    synchronized void setCapacity(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        var it = entries.keySet().iterator();
+        while (entries.size() > capacity) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized double getHitRate() {
+        var total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+}
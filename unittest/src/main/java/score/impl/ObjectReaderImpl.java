@@ -20,8 +20,6 @@ import foundation.icon.ee.io.DataReader;
 import score.Address;
 import score.ObjectReader;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Modifier;
 import java.math.BigInteger;
 
 public class ObjectReaderImpl implements ObjectReader {
@@ -89,7 +87,7 @@ public class ObjectReaderImpl implements ObjectReader {
 
     @Override
     public Address readAddress() {
-        return new Address(reader.readByteArray());
+        return AddressPool.of(reader.readByteArray());
     }
 
     @Override
@@ -120,20 +118,7 @@ public class ObjectReaderImpl implements ObjectReader {
         } else if (c == Address.class) {
             return (T) readAddress();
         } else {
-            try {
-                var m = c.getDeclaredMethod("readObject", ObjectReader.class);
-                if ((m.getModifiers()& Modifier.STATIC) == 0
-                        || (m.getModifiers()&Modifier.PUBLIC) == 0) {
-                    throw new IllegalArgumentException();
-                }
-                var res = m.invoke(null, this);
-                return (T) res;
-            } catch (NoSuchMethodException
-                     | IllegalAccessException
-                     | InvocationTargetException e) {
-                e.printStackTrace();
-                throw new IllegalArgumentException();
-            }
+            return (T) CustomCodec.of(c).read(this);
         }
     }
 
@@ -217,4 +202,13 @@ public class ObjectReaderImpl implements ObjectReader {
     public void skip() {
         skip(1);
     }
+
+    /**
+     * Makes the reader read new data from the start.
+     * @param data data to read
+     */
+    public void reset(byte[] data) {
+        reader.reset(data);
+        level = 0;
+    }
 }
@@ -19,10 +19,7 @@ package score.impl;
 import foundation.icon.ee.io.DataWriter;
 import score.Address;
 import score.ByteArrayObjectWriter;
-import score.ObjectWriter;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Modifier;
 import java.math.BigInteger;
 import java.util.Objects;
 
@@ -124,19 +121,7 @@ public class ObjectWriterImpl implements ByteArrayObjectWriter {
         } else if (c == Address.class) {
             write((Address) v);
         } else {
-            try {
-                var m = c.getDeclaredMethod("writeObject", ObjectWriter.class, c);
-                if ((m.getModifiers()& Modifier.STATIC) == 0
-                        || (m.getModifiers()&Modifier.PUBLIC) == 0) {
-                    throw new IllegalArgumentException();
-                }
-                m.invoke(null, this, v);
-            } catch (NoSuchMethodException
-                     | IllegalAccessException
-                     | InvocationTargetException e) {
-                e.printStackTrace();
-                throw new IllegalArgumentException();
-            }
+            CustomCodec.of(c).write(this, v);
         }
     }
 
@@ -218,4 +203,10 @@ public class ObjectWriterImpl implements ByteArrayObjectWriter {
     public byte[] toByteArray() {
         return writer.toByteArray();
     }
+
+    @Override
+    public void reset() {
+        writer.reset();
+        level = 0;
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache from encoded curve points to decoded points.
+ * <p>
+ * Decoded points must not be modified by users. Subgroup check of a point
+ * is done on first request and its result is kept with the point.
+ * Encodings failed to decode are not cached.
+ * <p>
+ * It's disabled by default, because decoded points are shared by all
+ * callers including other tests. Enable it with {@link #setCapacity(int)}.
+ *
+ * @param <T> type of decoded point
+ */
+public class PointCache<T> {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static class Key {
+        private final byte[] bytes;
+        private final int hash;
+
+        Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(bytes, ((Key) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class Decoded<T> {
+        private static final int kUnknown = 0;
+        private static final int kInGroup = 1;
+        private static final int kNotInGroup = 2;
+
+        final T point;
+        volatile int group = kUnknown;
+
+        Decoded(T point) {
+            this.point = point;
+        }
+    }
+
+    private final Function<byte[], T> decoder;
+    private final Predicate<T> groupCheck;
+    private final LRUCache<Key, Decoded<T>> entries = new LRUCache<>(0);
+
+    /**
+     * Creates a disabled cache.
+     * @param decoder decodes a point. It throws an exception for invalid
+     *                encoding.
+     * @param groupCheck returns whether a point is in the subgroup. null
+     *                   if every point on the curve is in the subgroup.
+     */
+    public PointCache(Function<byte[], T> decoder, Predicate<T> groupCheck) {
+        this.decoder = decoder;
+        this.groupCheck = groupCheck;
+    }
+
+    private Decoded<T> entryOf(byte[] encoded) {
+        if (entries.getCapacity() == 0) {
+            return new Decoded<>(decoder.apply(encoded));
+        }
+        var e = entries.get(new Key(encoded));
+        if (e == null) {
+            e = new Decoded<>(decoder.apply(encoded));
+            entries.put(new Key(encoded.clone()), e);
+        }
+        return e;
+    }
+
+    /**
+     * Returns decoded point.
+     * @param encoded encoded point
+     * @return decoded point
+     */
+    public T get(byte[] encoded) {
+        return entryOf(encoded).point;
+    }
+
+    /**
+     * Returns decoded point if it's in the subgroup.
+     * @param encoded encoded point
+     * @return decoded point or null if the point is not in the subgroup
+     */
+    public T getInGroup(byte[] encoded) {
+        var e = entryOf(encoded);
+        if (groupCheck == null) {
+            return e.point;
+        }
+        if (e.group == Decoded.kUnknown) {
+            e.group = groupCheck.test(e.point) ? Decoded.kInGroup : Decoded.kNotInGroup;
+        }
+        return e.group == Decoded.kInGroup ? e.point : null;
+    }
+
+    public int getCapacity() {
+        return entries.getCapacity();
+    }
+
+    /**
+     * Sets capacity of the cache. Least recently used entries are removed
+     * if there are more entries than the capacity.
+     * @param capacity maximum number of entries, for example
+     *                 {@link #DEFAULT_CAPACITY}. 0 to disable the cache.
+     */
+    public void setCapacity(int capacity) {
+        entries.setCapacity(capacity);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    /**
+     * Returns ratio of hits to lookups.
+     * @return hit rate, or 0 if there was no lookup
+     */
+    public double getHitRate() {
+        return entries.getHitRate();
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache for results of {@link Crypto#recoverKey} and
+ * {@link Crypto#verifySignature}.
+ * <p>
+ * Entries are keyed by the algorithm and SHA-256 hash of the inputs.
+ * Failures (exceptions) are not cached.
+ */
+public class SignatureCache {
+    private static final int kRecoverKey = 0;
+    private static final int kVerifySignature = 1;
+
+    private static class Key {
+        private final String alg;
+        private final byte[] hash;
+
+        Key(String alg, byte[] hash) {
+            this.alg = alg;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            var other = (Key) o;
+            return alg.equals(other.alg) && Arrays.equals(hash, other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return (hash[0] & 0xff) << 24 | (hash[1] & 0xff) << 16
+                    | (hash[2] & 0xff) << 8 | (hash[3] & 0xff);
+        }
+    }
+
+    private final LRUCache<Key, Object> entries;
+
+    SignatureCache(int capacity) {
+        this.entries = new LRUCache<>(capacity);
+    }
+
+    private static Key keyOf(String alg, int op, byte[]... inputs) {
+        var digest = Crypto.digestFor("sha-256");
+        digest.update((byte) op);
+        for (var in : inputs) {
+            var l = in.length;
+            digest.update((byte) (l >> 24));
+            digest.update((byte) (l >> 16));
+            digest.update((byte) (l >> 8));
+            digest.update((byte) l);
+            digest.update(in);
+        }
+        return new Key(alg, digest.digest());
+    }
+
+    byte[] recoverKey(String alg, byte[] msg, byte[] sig, boolean compressed,
+            Supplier<byte[]> recover) {
+        var key = keyOf(alg, kRecoverKey, msg, sig, new byte[]{(byte) (compressed ? 1 : 0)});
+        var v = (byte[]) entries.get(key);
+        if (v == null) {
+            v = recover.get();
+            entries.put(key, v.clone());
+            return v;
+        }
+        return v.clone();
+    }
+
+    boolean verifySignature(String alg, byte[] msg, byte[] sig, byte[] pk,
+            BooleanSupplier verify) {
+        var key = keyOf(alg, kVerifySignature, msg, sig, pk);
+        var v = (Boolean) entries.get(key);
+        if (v == null) {
+            v = verify.getAsBoolean();
+            entries.put(key, v);
+        }
+        return v;
+    }
+
+    public int getCapacity() {
+        return entries.getCapacity();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
@@ -19,7 +19,7 @@ package score.impl;
 import foundation.icon.ee.io.RLPNDataReader;
 import foundation.icon.ee.io.RLPNDataWriter;
 import score.Address;
-import score.impl.struct.Property;
+import score.impl.struct.StructCodec;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
@@ -58,47 +58,15 @@ public class TypeConverter {
         } else if (so instanceof java.math.BigInteger) {
             return so;
         } else if (so instanceof score.Address) {
-            var o = (score.Address)so;
-            return new Address(o.toByteArray());
+            // Address is immutable, so it doesn't need a copy
+            return AddressPool.intern((score.Address)so);
         } else if (so instanceof byte[]) {
             var o = (byte[]) so;
             var no = new byte[o.length];
             System.arraycopy(o, 0, no, 0, o.length);
             return no;
-        } else if (so instanceof boolean[]) {
-            var o = (boolean[]) so;
-            var no = new Object[o.length];
-            for (int i = 0 ; i<o.length ; i++) {
-                no[i] = o[i];
-            }
-            return ret ? List.of(no) : no;
-        } else if (so instanceof char[]) {
-            var o = (char[]) so;
-            var no = new Object[o.length];
-            for (int i = 0 ; i<o.length ; i++) {
-                no[i] = BigInteger.valueOf(o[i]);
-            }
-            return ret ? List.of(no) : no;
-        } else if (so instanceof short[]) {
-            var o = (short[]) so;
-            var no = new Object[o.length];
-            for (int i = 0 ; i<o.length ; i++) {
-                no[i] = BigInteger.valueOf(o[i]);
-            }
-            return ret ? List.of(no) : no;
-        } else if (so instanceof int[]) {
-            var o = (int[]) so;
-            var no = new Object[o.length];
-            for (int i = 0 ; i<o.length ; i++) {
-                no[i] = BigInteger.valueOf(o[i]);
-            }
-            return ret ? List.of(no) : no;
-        } else if (so instanceof long[]) {
-            var o = (long[]) so;
-            var no = new Object[o.length];
-            for (int i = 0; i < o.length; i++) {
-                no[i] = BigInteger.valueOf(o[i]);
-            }
+        } else if (isConvertiblePrimitiveArray(clz)) {
+            var no = boxPrimitiveArray(so);
             return ret ? List.of(no) : no;
         } else if (so instanceof List) {
             var o = (List<?>)so;
@@ -123,14 +91,15 @@ public class TypeConverter {
             }
             return ret ? List.of(no) : no;
         } else {
-            var rProps = Property.getReadableProperties(so);
-            if (rProps.isEmpty()) {
+            var codec = StructCodec.of(clz);
+            var count = codec.getPropertyCount();
+            if (count == 0) {
                 throw new IllegalArgumentException();
             }
-            var map = new java.util.TreeMap<>();
-            for (var rp : rProps) {
+            var map = new LinkedHashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
                 try {
-                    map.put(rp.getName(), normalize(rp.get(so), ret));
+                    map.put(codec.getPropertyName(i), normalize(codec.getProperty(so, i), ret));
                 } catch (InvocationTargetException|IllegalAccessException e) {
                     throw new IllegalArgumentException(e);
                 }
@@ -139,6 +108,67 @@ public class TypeConverter {
         }
     }
 
+    private static boolean isConvertiblePrimitiveArray(Class<?> clz) {
+        return clz == boolean[].class
+                || clz == char[].class
+                || clz == short[].class
+                || clz == int[].class
+                || clz == long[].class;
+    }
+
+    private static Object clonePrimitiveArray(Object so) {
+        if (so instanceof boolean[]) {
+            return ((boolean[]) so).clone();
+        } else if (so instanceof char[]) {
+            return ((char[]) so).clone();
+        } else if (so instanceof short[]) {
+            return ((short[]) so).clone();
+        } else if (so instanceof int[]) {
+            return ((int[]) so).clone();
+        } else {
+            return ((long[]) so).clone();
+        }
+    }
+
+    private static Object[] boxPrimitiveArray(Object so) {
+        if (so instanceof boolean[]) {
+            var o = (boolean[]) so;
+            var no = new Object[o.length];
+            for (int i = 0 ; i<o.length ; i++) {
+                no[i] = o[i];
+            }
+            return no;
+        } else if (so instanceof char[]) {
+            var o = (char[]) so;
+            var no = new Object[o.length];
+            for (int i = 0 ; i<o.length ; i++) {
+                no[i] = BigInteger.valueOf(o[i]);
+            }
+            return no;
+        } else if (so instanceof short[]) {
+            var o = (short[]) so;
+            var no = new Object[o.length];
+            for (int i = 0 ; i<o.length ; i++) {
+                no[i] = BigInteger.valueOf(o[i]);
+            }
+            return no;
+        } else if (so instanceof int[]) {
+            var o = (int[]) so;
+            var no = new Object[o.length];
+            for (int i = 0 ; i<o.length ; i++) {
+                no[i] = BigInteger.valueOf(o[i]);
+            }
+            return no;
+        } else {
+            var o = (long[]) so;
+            var no = new Object[o.length];
+            for (int i = 0; i < o.length; i++) {
+                no[i] = BigInteger.valueOf(o[i]);
+            }
+            return no;
+        }
+    }
+
     private static final BigInteger CharacterMAX = BigInteger.valueOf(Character.MAX_VALUE);
     private static final BigInteger CharacterMIN = BigInteger.valueOf(Character.MIN_VALUE);
     protected static void requireCharacterRange(BigInteger value) {
@@ -147,6 +177,135 @@ public class TypeConverter {
         }
     }
 
+    private static void requireCharacterRange(long value) {
+        if (value > Character.MAX_VALUE || value < Character.MIN_VALUE) {
+            throw new ArithmeticException("out of char range");
+        }
+    }
+
+    private static void requireShortRange(long value) {
+        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
+            throw new ArithmeticException("out of short range");
+        }
+    }
+
+    private static void requireIntRange(long value) {
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw new ArithmeticException("out of int range");
+        }
+    }
+
+    /**
+     * Converts a primitive integer array to an array of another primitive
+     * integer type. Range checks are done only for narrowing conversions.
+     * @param so source array (char[], short[], int[] or long[])
+     * @param cls component type of the target array
+     * @return converted array or null if it's not a supported conversion.
+     */
+    private static Object castPrimitiveArray(Object so, Class<?> cls) {
+        if (cls == long.class) {
+            if (so instanceof int[]) {
+                var o = (int[]) so;
+                var no = new long[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    no[i] = o[i];
+                }
+                return no;
+            } else if (so instanceof short[]) {
+                var o = (short[]) so;
+                var no = new long[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    no[i] = o[i];
+                }
+                return no;
+            } else if (so instanceof char[]) {
+                var o = (char[]) so;
+                var no = new long[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    no[i] = o[i];
+                }
+                return no;
+            }
+        } else if (cls == int.class) {
+            if (so instanceof long[]) {
+                var o = (long[]) so;
+                var no = new int[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    requireIntRange(o[i]);
+                    no[i] = (int) o[i];
+                }
+                return no;
+            } else if (so instanceof short[]) {
+                var o = (short[]) so;
+                var no = new int[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    no[i] = o[i];
+                }
+                return no;
+            } else if (so instanceof char[]) {
+                var o = (char[]) so;
+                var no = new int[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    no[i] = o[i];
+                }
+                return no;
+            }
+        } else if (cls == short.class) {
+            if (so instanceof long[]) {
+                var o = (long[]) so;
+                var no = new short[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    requireShortRange(o[i]);
+                    no[i] = (short) o[i];
+                }
+                return no;
+            } else if (so instanceof int[]) {
+                var o = (int[]) so;
+                var no = new short[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    requireShortRange(o[i]);
+                    no[i] = (short) o[i];
+                }
+                return no;
+            } else if (so instanceof char[]) {
+                var o = (char[]) so;
+                var no = new short[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    requireShortRange(o[i]);
+                    no[i] = (short) o[i];
+                }
+                return no;
+            }
+        } else if (cls == char.class) {
+            if (so instanceof long[]) {
+                var o = (long[]) so;
+                var no = new char[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    requireCharacterRange(o[i]);
+                    no[i] = (char) o[i];
+                }
+                return no;
+            } else if (so instanceof int[]) {
+                var o = (int[]) so;
+                var no = new char[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    requireCharacterRange(o[i]);
+                    no[i] = (char) o[i];
+                }
+                return no;
+            } else if (so instanceof short[]) {
+                var o = (short[]) so;
+                var no = new char[o.length];
+                for (int i=0 ; i<o.length ; i++) {
+                    requireCharacterRange(o[i]);
+                    no[i] = (char) o[i];
+                }
+                return no;
+            }
+        }
+        return null;
+    }
+
     public static Object castArray(Object so, Class<?> arrayCls) {
         var cls = arrayCls.getComponentType();
         if (cls == char.class) {
@@ -198,6 +357,11 @@ public class TypeConverter {
 
     @SuppressWarnings("unchecked")
     public static<T> T cast(Object so, Class<T> cls) {
+        if (so != null && isConvertiblePrimitiveArray(so.getClass())) {
+            // specialize() converts a copy of the primitive array without
+            // boxing elements.
+            return (T)specialize(clonePrimitiveArray(so), cls);
+        }
         return (T)specialize(normalize(so), cls);
     }
 
@@ -212,7 +376,17 @@ public class TypeConverter {
         }
         if (cls == so.getClass() || cls == boolean.class || cls == Boolean.class) {
             return so;
-        } else if (cls == byte.class || cls == Byte.class) {
+        }
+        if (isConvertiblePrimitiveArray(so.getClass())) {
+            if (cls.isArray() && cls.getComponentType().isPrimitive()) {
+                var no = castPrimitiveArray(so, cls.getComponentType());
+                if (no != null) {
+                    return no;
+                }
+            }
+            so = boxPrimitiveArray(so);
+        }
+        if (cls == byte.class || cls == Byte.class) {
             var o = (BigInteger)so;
             return o.byteValueExact();
         } else if (cls == char.class || cls == Character.class) {
@@ -241,10 +415,10 @@ public class TypeConverter {
             try {
                 @SuppressWarnings("unchecked")
                 var o = (Map<String, Object>)so;
-                var ctor = cls.getConstructor();
-                var res = ctor.newInstance();
+                var codec = StructCodec.of(cls);
+                var res = codec.newInstance();
                 for (var e : o.entrySet()) {
-                    var wp = Property.getWritableProperty(cls, e.getKey());
+                    var wp = codec.getSetter(e.getKey());
                     if (wp == null) {
                         throw new IllegalArgumentException("no prop for "+e.getKey());
                     }
@@ -285,6 +459,57 @@ public class TypeConverter {
         return normalized;
     }
 
+    private static final int kSmallValues = 256;
+    private static final Integer[] smallIntegers = new Integer[kSmallValues];
+    private static final Long[] smallLongs = new Long[kSmallValues];
+
+    static {
+        for (int i = 0; i < kSmallValues; i++) {
+            smallIntegers[i] = i;
+            smallLongs[i] = (long) i;
+        }
+    }
+
+    // writer and reader for objects, reused by each thread
+    private static class Codec {
+        final ObjectWriterImpl writer = new ObjectWriterImpl(new RLPNDataWriter());
+        final ObjectReaderImpl reader = new ObjectReaderImpl(new RLPNDataReader(new byte[0]));
+        boolean writing;
+        boolean reading;
+    }
+
+    private static final ThreadLocal<Codec> codecs = ThreadLocal.withInitial(Codec::new);
+
+    /**
+     * Encodes the value in the same way as {@link BigInteger#toByteArray()}
+     * (minimal big-endian two's-complement) without making BigInteger.
+     */
+    static byte[] encodeLong(long v) {
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(v ^ (v >> 63));
+        var bs = new byte[bits / 8 + 1];
+        for (int i = bs.length - 1; i >= 0; i--) {
+            bs[i] = (byte) v;
+            v >>= 8;
+        }
+        return bs;
+    }
+
+    /**
+     * Decodes the value encoded by {@link BigInteger#toByteArray()}.
+     * It throws the same exceptions as {@link BigInteger#longValueExact()}
+     * on {@code new BigInteger(bs)}.
+     */
+    static long decodeLong(byte[] bs) {
+        if (bs.length == 0 || bs.length > Long.BYTES) {
+            return new BigInteger(bs).longValueExact();
+        }
+        long v = bs[0];
+        for (int i = 1; i < bs.length; i++) {
+            v = (v << 8) | (bs[i] & 0xff);
+        }
+        return v;
+    }
+
     public static byte[] toBytes(Object v) {
         if (v == null) {
             return null;
@@ -294,25 +519,38 @@ public class TypeConverter {
             var value = (byte[])v;
             return Arrays.copyOf(value, value.length);
         } else if (v instanceof Boolean) {
-            return BigInteger.valueOf(((Boolean)v) ? 1 : 0).toByteArray();
+            return encodeLong(((Boolean)v) ? 1 : 0);
         } else if (v instanceof Byte) {
-            return BigInteger.valueOf((Byte)v).toByteArray();
+            return encodeLong((Byte)v);
         } else if (v instanceof Character) {
-            return BigInteger.valueOf((Character)v).toByteArray();
+            return encodeLong((Character)v);
         } else if (v instanceof Short) {
-            return BigInteger.valueOf((Short)v).toByteArray();
+            return encodeLong((Short)v);
         } else if (v instanceof Integer) {
-            return BigInteger.valueOf((Integer) v).toByteArray();
+            return encodeLong((Integer) v);
         } else if (v instanceof Long) {
-            return BigInteger.valueOf((Long) v).toByteArray();
+            return encodeLong((Long) v);
         } else if (v instanceof BigInteger) {
             return ((BigInteger) v).toByteArray();
         } else if (v instanceof Address) {
             return ((Address) v).toByteArray();
         } else {
-            var w = new ObjectWriterImpl(new RLPNDataWriter());
-            w.write(v);
-            return w.toByteArray();
+            var codec = codecs.get();
+            if (codec.writing) {
+                // nested conversion from writeObject
+                var w = new ObjectWriterImpl(new RLPNDataWriter());
+                w.write(v);
+                return w.toByteArray();
+            }
+            codec.writing = true;
+            try {
+                var w = codec.writer;
+                w.reset();
+                w.write(v);
+                return w.toByteArray();
+            } finally {
+                codec.writing = false;
+            }
         }
     }
 
@@ -338,30 +576,57 @@ public class TypeConverter {
                 throw new IllegalArgumentException(("invalid value for boolean value="+bs[0]));
             }
         } else if (cls == Byte.class) {
-            var value = new BigInteger(bs);
-            return value.byteValueExact();
+            var value = decodeLong(bs);
+            if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+                throw new ArithmeticException("BigInteger out of byte range");
+            }
+            return (byte) value;
         } else if (cls == Character.class) {
-            var value = new BigInteger(bs);
+            var value = decodeLong(bs);
             requireCharacterRange(value);
-            return (char) value.intValue();
+            return (char) value;
         } else if (cls == Short.class) {
-            var value = new BigInteger(bs);
-            return value.shortValueExact();
+            var value = decodeLong(bs);
+            if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+                throw new ArithmeticException("BigInteger out of short range");
+            }
+            return (short) value;
         } else if (cls == Integer.class) {
-            var value = new BigInteger(bs);
-            return value.intValueExact();
+            var value = decodeLong(bs);
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new ArithmeticException("BigInteger out of int range");
+            }
+            if (value >= 0 && value < kSmallValues) {
+                return smallIntegers[(int) value];
+            }
+            return (int) value;
         } else if (cls == Long.class) {
-            var value = new BigInteger(bs);
-            return value.longValueExact();
+            var value = decodeLong(bs);
+            if (value >= 0 && value < kSmallValues) {
+                return smallLongs[(int) value];
+            }
+            return value;
         } else if (cls == BigInteger.class) {
             return new BigInteger(bs);
         } else if (cls == String.class) {
             return new String(bs, StandardCharsets.UTF_8);
         } else if (cls == Address.class) {
-            return new Address(bs);
+            return AddressPool.of(bs);
         } else {
-            var r = new ObjectReaderImpl(new RLPNDataReader(bs));
-            return r.read(cls);
+            var codec = codecs.get();
+            if (codec.reading) {
+                // nested conversion from readObject
+                var r = new ObjectReaderImpl(new RLPNDataReader(bs));
+                return r.read(cls);
+            }
+            codec.reading = true;
+            try {
+                var r = codec.reader;
+                r.reset(bs);
+                return r.read(cls);
+            } finally {
+                codec.reading = false;
+            }
         }
     }
 }
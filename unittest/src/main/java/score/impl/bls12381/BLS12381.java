@@ -16,19 +16,45 @@
 
 package score.impl.bls12381;
 
+import score.impl.PointCache;
 import supranational.blst.BLST_ERROR;
 import supranational.blst.P1;
 import supranational.blst.P1_Affine;
 import supranational.blst.P2;
 import supranational.blst.P2_Affine;
-import supranational.blst.PT;
+import supranational.blst.Pairing;
 import supranational.blst.Scalar;
 
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
 public class BLS12381 {
     private static final String dst = "BLS_SIG_BLS12381G2_XMD:SHA-256_SSWU_RO_POP_";
     public static final int G1_LEN = 48;
     public static final int G2_LEN = 96;
     private static final P1 I = new P1();
+    private static final int kBatchScalarBits = 64;
+    private static final SecureRandom random = new SecureRandom();
+
+    private static final PointCache<P1_Affine> g1Points =
+            new PointCache<>(P1_Affine::new, P1_Affine::in_group);
+    private static final PointCache<P2_Affine> g2Points =
+            new PointCache<>(P2_Affine::new, P2_Affine::in_group);
+
+    public static PointCache<P1_Affine> getG1PointCache() {
+        return g1Points;
+    }
+
+    public static PointCache<P2_Affine> getG2PointCache() {
+        return g2Points;
+    }
 
     public static P1 identity() {
         return I.dup();
@@ -57,8 +83,8 @@ public class BLS12381 {
             byte[] pk = new byte[G1_LEN];
             for (int i = 0; i < nValues; i++) {
                 System.arraycopy(values, i * G1_LEN, pk, 0, G1_LEN);
-                var p1a = new P1_Affine(pk);
-                if (!p1a.in_group()) {
+                var p1a = g1Points.getInGroup(pk);
+                if (p1a == null) {
                     throw new IllegalArgumentException("a value is not in group");
                 }
                 res.aggregate(p1a);
@@ -75,7 +101,7 @@ public class BLS12381 {
 
     public static boolean verifyG2Signature(byte[] pubKey, byte[] sig, byte[] msg) {
         try {
-            var p1a = new P1_Affine(pubKey);
+            var p1a = g1Points.get(pubKey);
             var p2a = new P2_Affine(sig);
             var err = p2a.core_verify(p1a, true, msg, dst);
             return err == BLST_ERROR.BLST_SUCCESS;
@@ -84,6 +110,53 @@ public class BLS12381 {
         }
     }
 
+    /**
+     * Verifies signatures together. Each signature is weighted by a random
+     * scalar and all of them are checked with a single final
+     * exponentiation. If the check fails, signatures are verified one by
+     * one to find invalid ones.
+     *
+     * @param pubKeys public keys
+     * @param sigs    signatures
+     * @param msgs    messages
+     * @return verification result of each signature
+     */
+    public static boolean[] verifyG2Signatures(byte[][] pubKeys, byte[][] sigs, byte[][] msgs) {
+        var n = sigs.length;
+        var results = new boolean[n];
+        var p1as = new P1_Affine[n];
+        var p2as = new P2_Affine[n];
+        try {
+            for (int i = 0; i < n; i++) {
+                p1as[i] = g1Points.get(pubKeys[i]);
+                p2as[i] = new P2_Affine(sigs[i]);
+            }
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+        if (n == 0) {
+            return results;
+        }
+
+        var pairing = new Pairing(true, dst);
+        var ok = true;
+        for (int i = 0; ok && i < n; i++) {
+            var scalar = new BigInteger(kBatchScalarBits, random).setBit(0);
+            ok = pairing.mul_n_aggregate(p1as[i], p2as[i], scalar, msgs[i]) == BLST_ERROR.BLST_SUCCESS;
+        }
+        if (ok) {
+            pairing.commit();
+            ok = pairing.finalverify();
+        }
+        if (ok) {
+            Arrays.fill(results, true);
+        } else {
+            IntStream.range(0, n).parallel().forEach(i -> results[i] =
+                    p2as[i].core_verify(p1as[i], true, msgs[i], dst) == BLST_ERROR.BLST_SUCCESS);
+        }
+        return results;
+    }
+
     public static byte[] g1Add(byte[] data, boolean compressed) {
         P1 acc = new P1();
         int size = compressed ? G1_LEN : 2 * G1_LEN;
@@ -94,7 +167,7 @@ public class BLS12381 {
         byte[] buf = new byte[size];
         for (int i = 0; i < data.length; i += size) {
             System.arraycopy(data, i, buf, 0, size);
-            acc = acc.add(new P1(buf));
+            acc = acc.add(g1Points.get(buf));
         }
         return compressed ? acc.compress() : acc.serialize();
     }
@@ -109,7 +182,7 @@ public class BLS12381 {
         byte[] buf = new byte[size];
         for (int i = 0; i < data.length; i += size) {
             System.arraycopy(data, i, buf, 0, size);
-            acc = acc.add(new P2(buf));
+            acc = acc.add(g2Points.get(buf));
         }
         return compressed ? acc.compress() : acc.serialize();
     }
@@ -138,6 +211,170 @@ public class BLS12381 {
         return compressed ? p.compress() : p.serialize();
     }
 
+    private static final int kScalarLen = 32;
+    // P1.mult(Scalar) and P2.mult(Scalar) use the lowest 255 bits.
+    private static final int kScalarBits = 255;
+
+    private static int windowBits(int n) {
+        return Math.max(2, 31 - Integer.numberOfLeadingZeros(n));
+    }
+
+    private static int digitOf(byte[] le, int offset, int bits) {
+        int d = 0;
+        for (int i = 0; i < bits && offset + i < kScalarBits; i++) {
+            int k = offset + i;
+            d |= ((le[k >> 3] >> (k & 7)) & 1) << i;
+        }
+        return d;
+    }
+
+    /**
+     * Returns sum of points[i] * scalars[i] with bucket method
+     * (Pippenger's algorithm).
+     */
+    private static <T> T multiScalarMul(T[] points, byte[][] scalars, Supplier<T> zero,
+            BinaryOperator<T> add, UnaryOperator<T> dbl) {
+        int c = windowBits(points.length);
+        var buckets = new ArrayList<T>(Collections.nCopies((1 << c) - 1, null));
+        T res = zero.get();
+        for (int w = (kScalarBits - 1) / c; w >= 0; w--) {
+            for (int i = 0; i < c; i++) {
+                res = dbl.apply(res);
+            }
+            Collections.fill(buckets, null);
+            for (int i = 0; i < points.length; i++) {
+                int d = digitOf(scalars[i], w * c, c);
+                if (d != 0) {
+                    var b = buckets.get(d - 1);
+                    buckets.set(d - 1, b == null ? add.apply(zero.get(), points[i]) : add.apply(b, points[i]));
+                }
+            }
+            // sum of bucket[d] * (d + 1)
+            T sum = zero.get();
+            T acc = zero.get();
+            for (int d = buckets.size() - 1; d >= 0; d--) {
+                var b = buckets.get(d);
+                if (b != null) {
+                    sum = add.apply(sum, b);
+                }
+                acc = add.apply(acc, sum);
+            }
+            res = add.apply(res, acc);
+        }
+        return res;
+    }
+
+    private static byte[][] scalarsOf(byte[] scalars, int n, String op) {
+        if (scalars.length != n * kScalarLen) {
+            throw new IllegalArgumentException("BLS12-381: " + op + ": invalid scalars layout: expected "
+                    + n * kScalarLen + " bytes, got " + scalars.length);
+        }
+        var res = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            res[i] = new Scalar().from_bendian(
+                    Arrays.copyOfRange(scalars, i * kScalarLen, (i + 1) * kScalarLen)).to_lendian();
+        }
+        return res;
+    }
+
+    /**
+     * Returns sum of products of the points and the scalars. The result is
+     * same as adding results of {@link #g1ScalarMul} for each point.
+     *
+     * @param scalars    concatenated 32 bytes big-endian scalars
+     * @param data       concatenated points
+     * @param compressed whether points are compressed
+     * @return the sum
+     */
+    public static byte[] g1MultiScalarMul(byte[] scalars, byte[] data, boolean compressed) {
+        int size = compressed ? G1_LEN : 2 * G1_LEN;
+        if (data.length == 0 || data.length % size != 0) {
+            throw new IllegalArgumentException("BLS12-381: g1MultiScalarMul: invalid data layout: expected a multiple of "
+                    + size + " bytes, got " + data.length);
+        }
+        int n = data.length / size;
+        var ss = scalarsOf(scalars, n, "g1MultiScalarMul");
+        var points = new P1[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = new P1(Arrays.copyOfRange(data, i * size, (i + 1) * size));
+        }
+        var p = multiScalarMul(points, ss, P1::new, P1::add, P1::dbl);
+        return compressed ? p.compress() : p.serialize();
+    }
+
+    /**
+     * Returns sum of products of the points and the scalars. The result is
+     * same as adding results of {@link #g2ScalarMul} for each point.
+     *
+     * @param scalars    concatenated 32 bytes big-endian scalars
+     * @param data       concatenated points
+     * @param compressed whether points are compressed
+     * @return the sum
+     */
+    public static byte[] g2MultiScalarMul(byte[] scalars, byte[] data, boolean compressed) {
+        int size = compressed ? G2_LEN : 2 * G2_LEN;
+        if (data.length == 0 || data.length % size != 0) {
+            throw new IllegalArgumentException("BLS12-381: g2MultiScalarMul: invalid data layout: expected a multiple of "
+                    + size + " bytes, got " + data.length);
+        }
+        int n = data.length / size;
+        var ss = scalarsOf(scalars, n, "g2MultiScalarMul");
+        var points = new P2[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = new P2(Arrays.copyOfRange(data, i * size, (i + 1) * size));
+        }
+        var p = multiScalarMul(points, ss, P2::new, P2::add, P2::dbl);
+        return compressed ? p.compress() : p.serialize();
+    }
+
+    private static final int kParallelGroupCheckPairs = 4;
+    private static volatile boolean parallelGroupCheck = true;
+
+    /**
+     * Sets whether subgroup checks of points for {@link #pairingCheck} run
+     * in parallel. They run in parallel only if there are enough pairs.
+     * It's enabled by default.
+     *
+     * @param enabled true to enable parallel subgroup checks
+     */
+    public static void setParallelGroupCheck(boolean enabled) {
+        parallelGroupCheck = enabled;
+    }
+
+    private static boolean inGroup(P1_Affine[] p1s, P2_Affine[] p2s, int i) {
+        return p1s[i].in_group() && p2s[i].in_group();
+    }
+
+    // returns index of the first pair not in subgroup, or -1.
+    private static int firstNotInGroup(P1_Affine[] p1s, P2_Affine[] p2s, int n) {
+        if (parallelGroupCheck && n >= kParallelGroupCheckPairs) {
+            return IntStream.range(0, n).parallel()
+                    .filter(i -> !inGroup(p1s, p2s, i))
+                    .findFirst().orElse(-1);
+        }
+        for (int i = 0; i < n; i++) {
+            if (!inGroup(p1s, p2s, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void requireInGroup(P1_Affine[] p1s, P2_Affine[] p2s, int n) {
+        if (firstNotInGroup(p1s, p2s, n) >= 0) {
+            throw new IllegalArgumentException("G1 or G2 point not in subgroup!");
+        }
+    }
+
+    /**
+     * Returns whether product of pairings is one. Miller loops of all the
+     * pairs are accumulated in a pairing context and one final
+     * exponentiation is done at the end.
+     *
+     * @param data       concatenated (G1, G2) pairs
+     * @param compressed whether points are compressed
+     * @return true if product of pairings is one
+     */
     public static boolean pairingCheck(byte[] data, boolean compressed) {
         int g1Size = compressed ? G1_LEN : 2 * G1_LEN;
         int g2Size = compressed ? G2_LEN : 2 * G2_LEN;
@@ -148,23 +385,39 @@ public class BLS12381 {
                     + size + " bytes, got " + data.length);
         }
 
-        PT acc = PT.one();
+        int n = data.length / size;
+        var p1s = new P1_Affine[n];
+        var p2s = new P2_Affine[n];
         byte[] p1buf = new byte[g1Size];
         byte[] p2buf = new byte[g2Size];
-        for (int i = 0; i < data.length; i += size) {
-            System.arraycopy(data, i, p1buf, 0, g1Size);
-            System.arraycopy(data, i + g1Size, p2buf, 0, g2Size);
-            P1 p1 = new P1(p1buf);
-            P2 p2 = new P2(p2buf);
-            if (!p1.in_group() || !p2.in_group()) {
-                throw new IllegalArgumentException("G1 or G2 point not in subgroup!");
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(data, i * size, p1buf, 0, g1Size);
+            System.arraycopy(data, i * size + g1Size, p2buf, 0, g2Size);
+            try {
+                p1s[i] = new P1_Affine(p1buf);
+                p2s[i] = new P2_Affine(p2buf);
+            } catch (RuntimeException e) {
+                // pairs before this one are checked first
+                requireInGroup(p1s, p2s, i);
+                throw e;
             }
-            if (p1.is_inf() || p2.is_inf()) {
+        }
+        requireInGroup(p1s, p2s, n);
+
+        var pairing = new Pairing(true, dst);
+        boolean aggregated = false;
+        for (int i = 0; i < n; i++) {
+            if (p1s[i].is_inf() || p2s[i].is_inf()) {
                 continue;
             }
-            acc = acc.mul(new PT(p1, p2));
+            pairing.raw_aggregate(p2s[i], p1s[i]);
+            aggregated = true;
         }
-
-        return acc.final_exp().is_one();
+        if (!aggregated) {
+            // product of pairings with infinity is one
+            return true;
+        }
+        pairing.commit();
+        return pairing.finalverify();
     }
 }
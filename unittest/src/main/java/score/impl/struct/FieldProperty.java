@@ -16,6 +16,8 @@
 
 package score.impl.struct;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 
@@ -51,4 +53,12 @@ public class FieldProperty implements ReadableProperty, WritableProperty {
             RuntimeAssertionError.unexpected(e);
         }
     }
+
+    public MethodHandle getterHandle(MethodHandles.Lookup lookup) throws IllegalAccessException {
+        return lookup.unreflectGetter(field);
+    }
+
+    public MethodHandle setterHandle(MethodHandles.Lookup lookup) throws IllegalAccessException {
+        return lookup.unreflectSetter(field);
+    }
 }
@@ -94,7 +94,10 @@ public interface Property {
     }
 
     static List<ReadableProperty> getReadableProperties(Object obj) {
-        var cls = obj.getClass();
+        return getReadableProperties(obj.getClass());
+    }
+
+    static List<ReadableProperty> getReadableProperties(Class<?> cls) {
         var props = new ArrayList<ReadableProperty>();
         while (cls != null && !cls.getName().startsWith(kJavaLangClassPrefix)) {
             Arrays.stream(cls.getDeclaredMethods())
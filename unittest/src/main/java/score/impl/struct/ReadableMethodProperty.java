@@ -16,6 +16,8 @@
 
 package score.impl.struct;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
@@ -27,4 +29,8 @@ public class ReadableMethodProperty extends MethodProperty implements ReadablePr
     public Object get(Object obj) throws InvocationTargetException, IllegalAccessException {
         return method.invoke(obj);
     }
+
+    public MethodHandle getterHandle(MethodHandles.Lookup lookup) throws IllegalAccessException {
+        return lookup.unreflect(method);
+    }
 }
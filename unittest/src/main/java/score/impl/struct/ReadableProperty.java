@@ -16,8 +16,11 @@
 
 package score.impl.struct;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 
 public interface ReadableProperty extends Property {
     Object get(Object obj) throws InvocationTargetException, IllegalAccessException;
+    MethodHandle getterHandle(MethodHandles.Lookup lookup) throws IllegalAccessException;
 }
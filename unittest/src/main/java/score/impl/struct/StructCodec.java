@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl.struct;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-class property accessors used for converting structs.
+ * <p>
+ * Readable properties are resolved once when the codec is created and
+ * kept sorted by name. Writable properties are resolved on first use of
+ * each name (including misses), so later conversions of the same class
+ * do not scan the class hierarchy again.
+ */
+public class StructCodec {
+    private static final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    private static final MethodType kGetterType = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType kSetterType = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType kConstructorType = MethodType.methodType(Object.class);
+
+    private static final ClassValue<StructCodec> codecs = new ClassValue<>() {
+        @Override
+        protected StructCodec computeValue(Class<?> type) {
+            return new StructCodec(type);
+        }
+    };
+
+    public static StructCodec of(Class<?> cls) {
+        return codecs.get(cls);
+    }
+
+    public static class Setter {
+        private final Class<?> type;
+        private final MethodHandle handle;
+        private final IllegalAccessException error;
+
+        private Setter(Class<?> type, MethodHandle handle, IllegalAccessException error) {
+            this.type = type;
+            this.handle = handle;
+            this.error = error;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public void set(Object obj, Object value) throws InvocationTargetException {
+            if (handle == null) {
+                throw RuntimeAssertionError.unexpected(error);
+            }
+            if (value == null && type.isPrimitive()) {
+                throw new IllegalArgumentException("null for primitive property");
+            }
+            try {
+                handle.invokeExact(obj, value);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+
+    private static final Setter NO_SETTER = new Setter(null, null, null);
+
+    private final Class<?> type;
+    private final String[] names;
+    private final MethodHandle[] getters;
+    private final IllegalAccessException getterError;
+    private final ConcurrentHashMap<String, Setter> setters = new ConcurrentHashMap<>();
+    private volatile MethodHandle constructor;
+
+    private StructCodec(Class<?> type) {
+        this.type = type;
+
+        // later properties override earlier ones of the same name
+        var props = new TreeMap<String, ReadableProperty>();
+        for (var rp : Property.getReadableProperties(type)) {
+            props.put(rp.getName(), rp);
+        }
+        names = props.keySet().toArray(new String[0]);
+        getters = new MethodHandle[names.length];
+        IllegalAccessException error = null;
+        int idx = 0;
+        for (var rp : props.values()) {
+            try {
+                getters[idx] = rp.getterHandle(lookup).asType(kGetterType);
+            } catch (IllegalAccessException e) {
+                error = e;
+            }
+            idx++;
+        }
+        getterError = error;
+    }
+
+    public int getPropertyCount() {
+        return names.length;
+    }
+
+    public String getPropertyName(int idx) {
+        return names[idx];
+    }
+
+    public Object getProperty(Object obj, int idx)
+            throws InvocationTargetException, IllegalAccessException {
+        var getter = getters[idx];
+        if (getter == null) {
+            throw getterError;
+        }
+        try {
+            return getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Returns setter for the property.
+     * @param name name of the property
+     * @return setter for the property, or null if there is no writable
+     *          property with the name.
+     */
+    public Setter getSetter(String name) {
+        var setter = setters.computeIfAbsent(name, this::resolveSetter);
+        return setter != NO_SETTER ? setter : null;
+    }
+
+    private Setter resolveSetter(String name) {
+        var wp = Property.getWritableProperty(type, name);
+        if (wp == null) {
+            return NO_SETTER;
+        }
+        try {
+            return new Setter(wp.getType(), wp.setterHandle(lookup).asType(kSetterType), null);
+        } catch (IllegalAccessException e) {
+            return new Setter(wp.getType(), null, e);
+        }
+    }
+
+    public Object newInstance() throws NoSuchMethodException,
+            IllegalAccessException, InstantiationException,
+            InvocationTargetException {
+        var ctor = constructor;
+        if (ctor == null) {
+            ctor = lookup.unreflectConstructor(type.getConstructor()).asType(kConstructorType);
+            constructor = ctor;
+        }
+        try {
+            return ctor.invokeExact();
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package score.impl.struct;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
@@ -31,4 +33,8 @@ public class WritableMethodProperty extends MethodProperty implements WritablePr
             RuntimeAssertionError.unexpected(e);
         }
     }
+
+    public MethodHandle setterHandle(MethodHandles.Lookup lookup) throws IllegalAccessException {
+        return lookup.unreflect(method);
+    }
 }
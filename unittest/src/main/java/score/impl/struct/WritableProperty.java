@@ -16,8 +16,11 @@
 
 package score.impl.struct;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 
 public interface WritableProperty extends Property {
     void set(Object obj, Object value) throws InvocationTargetException;
+    MethodHandle setterHandle(MethodHandles.Lookup lookup) throws IllegalAccessException;
 }
@@ -20,6 +20,16 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import score.Address;
 import score.Context;
+import score.ObjectWriter;
+import score.impl.ObjectReaderImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 
 public class ObjectReaderWriterTest {
     private static final String hexDigits = "0123456789abcdef";
@@ -50,4 +60,265 @@ public class ObjectReaderWriterTest {
     void testRLPNSimple() {
         testCodingEquals("95" + "00".repeat(21), new Address(new byte[21]), "RLPn");
     }
+
+    private static byte[] rlpHeader(int base, int l) {
+        if (l <= 55) {
+            return new byte[]{(byte) (base + l)};
+        }
+        var n = 0;
+        for (var v = l; v != 0; v >>= 8) {
+            n++;
+        }
+        var bs = new byte[n + 1];
+        bs[0] = (byte) (base + 55 + n);
+        for (int i = n, v = l; i > 0; i--, v >>= 8) {
+            bs[i] = (byte) v;
+        }
+        return bs;
+    }
+
+    private static byte[] rlpString(byte[] v) {
+        if (v.length == 1 && (v[0] & 0xff) < 0x80) {
+            return v;
+        }
+        var os = new ByteArrayOutputStream();
+        os.writeBytes(rlpHeader(0x80, v.length));
+        os.writeBytes(v);
+        return os.toByteArray();
+    }
+
+    // writes nested lists of strings and returns expected encoding.
+    private static byte[] writeNested(ObjectWriter w, int depth, int width) {
+        var payload = new ByteArrayOutputStream();
+        w.beginList(width);
+        for (int i = 0; i < width; i++) {
+            if (depth > 0 && i % 2 == 0) {
+                payload.writeBytes(writeNested(w, depth - 1, width));
+            } else {
+                var v = new byte[(depth * 31 + i * 7) % 300];
+                if (v.length > 0) {
+                    v[v.length / 2] = (byte) i;
+                }
+                w.write(v);
+                payload.writeBytes(rlpString(v));
+            }
+        }
+        w.end();
+        var os = new ByteArrayOutputStream();
+        os.writeBytes(rlpHeader(0xc0, payload.size()));
+        os.writeBytes(payload.toByteArray());
+        return os.toByteArray();
+    }
+
+    @Test
+    void testNestedList() {
+        for (var codec : new String[]{"RLP", "RLPn"}) {
+            for (int depth = 0; depth < 4; depth++) {
+                for (int width = 0; width < 6; width++) {
+                    var ow = Context.newByteArrayObjectWriter(codec);
+                    var exp = writeNested(ow, depth, width);
+                    ow.write("tail");
+                    Assertions.assertEquals(hexFromBytes(exp) + "847461696c",
+                            hexFromBytes(ow.toByteArray()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIntegers() {
+        var values = new long[]{
+                0, 1, 0x7f, 0x80, 0xff, 0x100, 0x7fff, 0x8000, 0xffff,
+                Integer.MAX_VALUE, 0xffffffffL, Long.MAX_VALUE,
+                -1, -0x80, -0x81, -0x8000, -0x8001, Integer.MIN_VALUE, Long.MIN_VALUE
+        };
+        for (var codec : new String[]{"RLP", "RLPn"}) {
+            for (var v : values) {
+                if (v < 0 && codec.equals("RLP")) {
+                    var ow = Context.newByteArrayObjectWriter(codec);
+                    Assertions.assertThrows(IllegalArgumentException.class, () -> ow.write(v));
+                    continue;
+                }
+                var ow = Context.newByteArrayObjectWriter(codec);
+                ow.write(v);
+                ow.write((char) v);
+                var ba = ow.toByteArray();
+
+                var exp = Context.newByteArrayObjectWriter(codec);
+                exp.write(BigInteger.valueOf(v));
+                exp.write(BigInteger.valueOf((char) v));
+                Assertions.assertEquals(hexFromBytes(exp.toByteArray()), hexFromBytes(ba));
+
+                var or = Context.newByteArrayObjectReader(codec, ba);
+                Assertions.assertEquals(v, or.readLong());
+                Assertions.assertEquals((char) v, or.readChar());
+            }
+        }
+
+        // lower bits of bigger integers
+        var big = BigInteger.ONE.shiftLeft(80).add(BigInteger.valueOf(0x1234));
+        for (var codec : new String[]{"RLP", "RLPn"}) {
+            var ow = Context.newByteArrayObjectWriter(codec);
+            ow.write(big);
+            ow.write(big.negate().abs());
+            var or = Context.newByteArrayObjectReader(codec, ow.toByteArray());
+            Assertions.assertEquals(0x1234, or.readLong());
+            Assertions.assertEquals((short) 0x1234, or.readShort());
+        }
+    }
+
+    private static void checkBufferRead(ByteBuffer bb) {
+        var r = new RLPNDataReader(bb);
+        var or = new ObjectReaderImpl(r);
+        or.beginList();
+        Assertions.assertEquals(-1, or.readInt());
+        Assertions.assertEquals(BigInteger.TEN.pow(30), or.readBigInteger());
+        Assertions.assertEquals("hello", or.readString());
+        Assertions.assertNull(or.readNullable(String.class));
+        Assertions.assertEquals(1.5, or.readDouble());
+        Assertions.assertEquals("0102", hexFromBytes(or.readByteArray()));
+        var slice = r.readByteBuffer();
+        Assertions.assertEquals(100, slice.remaining());
+        Assertions.assertEquals(7, slice.get(99));
+        Assertions.assertTrue(slice.isReadOnly());
+        or.end();
+        Assertions.assertFalse(or.hasNext());
+    }
+
+    @Test
+    void testByteBufferInput() throws IOException {
+        var ow = Context.newByteArrayObjectWriter("RLPn");
+        var big = new byte[100];
+        big[99] = 7;
+        ow.beginList(7);
+        ow.write(-1);
+        ow.write(BigInteger.TEN.pow(30));
+        ow.write("hello");
+        ow.writeNull();
+        ow.write(1.5);
+        ow.write(new byte[]{1, 2});
+        ow.write(big);
+        ow.end();
+        var ba = ow.toByteArray();
+
+        var heap = ByteBuffer.allocate(ba.length + 3);
+        heap.position(3);
+        heap.put(ba);
+        heap.position(3);
+        checkBufferRead(heap);
+        Assertions.assertEquals(3, heap.position());
+
+        var direct = ByteBuffer.allocateDirect(ba.length);
+        direct.put(ba);
+        direct.flip();
+        checkBufferRead(direct);
+
+        var file = Files.createTempFile("rlp", ".bin");
+        try {
+            Files.write(file, ba);
+            try (var ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                checkBufferRead(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testIndexedList() {
+        for (var codec : new String[]{"RLP", "RLPn"}) {
+            var ow = Context.newByteArrayObjectWriter(codec);
+            ow.beginList(300);
+            for (int i = 0; i < 300; i++) {
+                if (i % 3 == 0) {
+                    ow.beginList(2);
+                    ow.write(i);
+                    ow.write("item" + i);
+                    ow.end();
+                } else if (i % 3 == 1) {
+                    ow.write(new byte[i]);
+                } else {
+                    ow.write(i);
+                }
+            }
+            ow.end();
+            var ba = ow.toByteArray();
+
+            AbstractRLPDataReader r = codec.equals("RLP")
+                    ? new RLPDataReader(ba) : new RLPNDataReader(ba);
+            r.readListHeader();
+            var index = r.indexItems();
+            Assertions.assertEquals(300, index.size());
+            Assertions.assertTrue(r.hasNext());
+            for (int i = 299; i >= 0; i -= 7) {
+                r.seek(index, i);
+                if (i % 3 == 0) {
+                    r.readListHeader();
+                    Assertions.assertEquals(i, r.readInt());
+                    Assertions.assertEquals("item" + i, r.readString());
+                    r.readFooter();
+                } else if (i % 3 == 1) {
+                    Assertions.assertEquals(i, r.readByteArray().length);
+                } else {
+                    Assertions.assertEquals(i, r.readInt());
+                }
+            }
+
+            // index is valid for another reader over the same bytes
+            AbstractRLPDataReader r2 = codec.equals("RLP")
+                    ? new RLPDataReader(ByteBuffer.wrap(ba)) : new RLPNDataReader(ByteBuffer.wrap(ba));
+            r2.readListHeader();
+            r2.seek(index, 299);
+            Assertions.assertEquals(299, r2.readInt());
+            Assertions.assertFalse(r2.hasNext());
+
+            // index of the outer list can't be used in a nested list
+            r2.seek(index, 0);
+            r2.readListHeader();
+            var inner = r2.indexItems();
+            Assertions.assertEquals(2, inner.size());
+            Assertions.assertThrows(IllegalStateException.class, () -> r2.seek(index, 0));
+            Assertions.assertThrows(IllegalStateException.class, () -> r2.seek(index, 1));
+            r2.seek(inner, 1);
+            Assertions.assertEquals("item0", r2.readString());
+            r2.readFooter();
+
+            // and vice versa
+            Assertions.assertThrows(IllegalStateException.class, () -> r2.seek(inner, 0));
+            r2.seek(index, 3);
+            r2.readListHeader();
+            Assertions.assertEquals(3, r2.readInt());
+        }
+    }
+
+    @Test
+    void testReset() {
+        for (var codec : new String[]{"RLP", "RLPn"}) {
+            var ow = Context.newByteArrayObjectWriter(codec);
+            ow.beginList(2);
+            ow.write("garbage");
+            ow.reset();
+            ow.beginList(1);
+            ow.write(1);
+            ow.end();
+            var ba = ow.toByteArray();
+            Assertions.assertEquals("c101", hexFromBytes(ba));
+
+            ow.reset();
+            ow.write("hello");
+            var ba2 = ow.toByteArray();
+            Assertions.assertEquals("8568656c6c6f", hexFromBytes(ba2));
+
+            var or = (ObjectReaderImpl) Context.newByteArrayObjectReader(codec, ba);
+            or.beginList();
+            or.reset(ba2);
+            Assertions.assertEquals("hello", or.readString());
+            Assertions.assertFalse(or.hasNext());
+            Assertions.assertThrows(IllegalStateException.class, or::end);
+            or.reset(ba);
+            or.beginList();
+            Assertions.assertEquals(1, or.readInt());
+            or.end();
+        }
+    }
 }
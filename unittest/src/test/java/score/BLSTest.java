@@ -22,9 +22,15 @@ import com.iconloop.score.test.TestBase;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import score.annotation.External;
+import score.impl.Crypto;
+import score.impl.bls12381.BLS12381;
+import supranational.blst.P1;
+import supranational.blst.P2;
+import supranational.blst.Scalar;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Random;
 
 public class BLSTest extends TestBase {
     private static final ServiceManager sm = getServiceManager();
@@ -277,4 +283,123 @@ public class BLSTest extends TestBase {
         Assertions.assertDoesNotThrow(
                 () -> score.invoke(owner, "test"));
     }
+
+    @Test
+    void testBatchVerify() {
+        var pk = BLSTestBase.hexToBytes(BLSAggregateScore.pk);
+        var msg = BLSTestBase.hexToBytes(BLSAggregateScore.msg);
+        var sig = BLSTestBase.hexToBytes(BLSAggregateScore.sig);
+        var results = Crypto.verifySignatures("bls12-381-g2",
+                new byte[][]{msg, msg, msg}, new byte[][]{sig, sig, sig}, new byte[][]{pk, pk, pk});
+        Assertions.assertArrayEquals(new boolean[]{true, true, true}, results);
+
+        var other = "other message".getBytes();
+        results = Crypto.verifySignatures("bls12-381-g2",
+                new byte[][]{msg, other, msg}, new byte[][]{sig, sig, sig}, new byte[][]{pk, pk, pk});
+        Assertions.assertArrayEquals(new boolean[]{true, false, true}, results);
+    }
+
+    @Test
+    void testPairingCheckManyPairs() {
+        var g2 = P2.generator().compress();
+        // e(G1, G2)^(1 + 2 + ... + 7) * e(-28 G1, G2) == 1
+        var sum = P1.generator();
+        var data = new byte[0];
+        for (int i = 1; i < 8; i++) {
+            var p = P1.generator().mult(BigInteger.valueOf(i));
+            data = BLSTestBase.concatBytes(data, p.compress(), g2);
+            if (i > 1) {
+                sum = sum.add(p);
+            }
+        }
+        var valid = BLSTestBase.concatBytes(data, sum.dup().neg().compress(), g2);
+        Assertions.assertTrue(Context.ecPairingCheck("bls12-381", valid, true));
+        var invalid = BLSTestBase.concatBytes(data, sum.compress(), g2);
+        Assertions.assertFalse(Context.ecPairingCheck("bls12-381", invalid, true));
+
+        var inf = new byte[BLS12381.G1_LEN];
+        inf[0] = (byte) 0xc0;
+        Assertions.assertTrue(Context.ecPairingCheck("bls12-381",
+                BLSTestBase.concatBytes(inf, g2), true));
+    }
+
+    private static byte[] pointOf(String curve, int k, boolean compressed) {
+        if (curve.endsWith("g1")) {
+            var p = P1.generator().mult(BigInteger.valueOf(k));
+            return compressed ? p.compress() : p.serialize();
+        }
+        var p = P2.generator().mult(BigInteger.valueOf(k));
+        return compressed ? p.compress() : p.serialize();
+    }
+
+    @Test
+    void testMultiScalarMul() {
+        for (var curve : new String[]{"bls12-381-g1", "bls12-381-g2"}) {
+            for (var compressed : new boolean[]{true, false}) {
+                for (int n : new int[]{1, 3, 17}) {
+                    var scalars = new byte[0];
+                    var points = new byte[0];
+                    byte[] sum = null;
+                    for (int i = 0; i < n; i++) {
+                        var scalar = Crypto.sha256(new byte[]{(byte) i});
+                        var point = pointOf(curve, i + 2, compressed);
+                        scalars = BLSTestBase.concatBytes(scalars, scalar);
+                        points = BLSTestBase.concatBytes(points, point);
+                        var product = Context.ecScalarMul(curve, scalar, point, compressed);
+                        sum = sum == null ? product
+                                : Context.ecAdd(curve, BLSTestBase.concatBytes(sum, product), compressed);
+                    }
+                    Assertions.assertArrayEquals(sum,
+                            Context.ecMultiScalarMul(curve, scalars, points, compressed));
+                }
+                var point = pointOf(curve, 1, true);
+                Assertions.assertThrows(IllegalArgumentException.class,
+                        () -> Context.ecMultiScalarMul(curve, new byte[31], point, true));
+            }
+        }
+    }
+
+    private static byte[] naiveMultiScalarMul(String curve, byte[][] scalars, byte[][] points) {
+        if (curve.endsWith("g1")) {
+            var sum = new P1();
+            for (int i = 0; i < points.length; i++) {
+                sum.add(new P1(points[i]).mult(new Scalar().from_bendian(scalars[i])));
+            }
+            return sum.compress();
+        }
+        var sum = new P2();
+        for (int i = 0; i < points.length; i++) {
+            sum.add(new P2(points[i]).mult(new Scalar().from_bendian(scalars[i])));
+        }
+        return sum.compress();
+    }
+
+    @Test
+    void testMultiScalarMulDifferential() {
+        var random = new Random(42);
+        for (var curve : new String[]{"bls12-381-g1", "bls12-381-g2"}) {
+            var inf = new byte[curve.endsWith("g1") ? BLS12381.G1_LEN : BLS12381.G2_LEN];
+            inf[0] = (byte) 0xc0;
+            for (int n : new int[]{1, 2, 5, 16, 33, 70}) {
+                var scalars = new byte[n][];
+                var points = new byte[n][];
+                for (int i = 0; i < n; i++) {
+                    // zero scalars, infinity points and their combination
+                    scalars[i] = new byte[32];
+                    if (i % 5 != 1) {
+                        random.nextBytes(scalars[i]);
+                    }
+                    points[i] = i % 7 == 3 || i % 11 == 1 ? inf
+                            : pointOf(curve, 1 + random.nextInt(1 << 20), true);
+                }
+                Assertions.assertArrayEquals(naiveMultiScalarMul(curve, scalars, points),
+                        Context.ecMultiScalarMul(curve, BLSTestBase.concatBytes(scalars),
+                                BLSTestBase.concatBytes(points), true),
+                        curve + " n=" + n);
+            }
+            // everything cancels out to infinity
+            Assertions.assertArrayEquals(inf, Context.ecMultiScalarMul(curve, new byte[64],
+                    BLSTestBase.concatBytes(pointOf(curve, 3, true), inf), true));
+        }
+    }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score;
+
+import com.iconloop.score.test.OutOfBalanceException;
+import com.iconloop.score.test.ServiceManager;
+import com.iconloop.score.test.TestBase;
+import com.iconloop.score.test.WorldState;
+import org.junit.jupiter.api.Test;
+import score.annotation.EventLog;
+import score.annotation.External;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceManagerTest extends TestBase {
+    private static final ServiceManager sm = getServiceManager();
+
+    public static class Ticker {
+        private final ArrayDB<Long> heights = Context.newArrayDB("heights", Long.class);
+        private final ArrayDB<Integer> indexes = Context.newArrayDB("indexes", Integer.class);
+
+        @External
+        public void tick() {
+            heights.add(Context.getBlockHeight());
+            indexes.add(Context.getTransactionIndex());
+            Ticked(Context.getTransactionIndex());
+        }
+
+        @External(readonly=true)
+        public int count() {
+            return heights.size();
+        }
+
+        @External(readonly=true)
+        public long heightAt(int i) {
+            return heights.get(i);
+        }
+
+        @External(readonly=true)
+        public int indexAt(int i) {
+            return indexes.get(i);
+        }
+
+        @EventLog
+        public void Ticked(int index) {}
+    }
+
+    @Test
+    void createAccounts() {
+        var balance = BigInteger.valueOf(1000);
+        var before = sm.createAccount();
+        var accounts = sm.createAccounts(100_000, balance);
+        var after = sm.createAccount();
+        assertEquals(100_000, accounts.size());
+        assertEquals(BigInteger.ZERO, before.getBalance());
+        assertEquals(BigInteger.ZERO, after.getBalance());
+
+        var first = accounts.get(0);
+        var last = accounts.get(accounts.size() - 1);
+        assertSame(first, accounts.get(0));
+        assertSame(last, sm.getAccount(last.getAddress()));
+        assertNotEquals(first.getAddress(), last.getAddress());
+        assertFalse(first.getAddress().isContract());
+        assertEquals(balance, first.getBalance());
+        assertEquals(balance, last.getBalance());
+        assertEquals(balance, sm.getAccount(accounts.get(500).getAddress()).getBalance());
+
+        sm.transfer(first, last.getAddress(), BigInteger.valueOf(400));
+        assertEquals(BigInteger.valueOf(600), first.getBalance());
+        assertEquals(BigInteger.valueOf(1400), last.getBalance());
+        assertThrows(OutOfBalanceException.class,
+                () -> sm.transfer(first, last.getAddress(), BigInteger.valueOf(601)));
+        assertEquals(BigInteger.valueOf(600), first.getBalance());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> accounts.get(100_000));
+        assertThrows(IllegalArgumentException.class, () -> sm.createAccounts(-1, balance));
+        assertTrue(sm.createAccounts(0, balance).isEmpty());
+        var empty = sm.createAccounts(3, BigInteger.ZERO);
+        assertEquals(BigInteger.ZERO, empty.get(2).getBalance());
+    }
+
+    @Test
+    void balanceOverflow() {
+        var state = new WorldState();
+        var addr = Address.fromString("hx0000000000000000000000000000000000000001");
+        var max = BigInteger.valueOf(Long.MAX_VALUE);
+        state.addBalance(addr, max);
+        assertEquals(max, state.getBalance(addr));
+
+        state.push();
+        state.addBalance(addr, BigInteger.TWO);
+        assertEquals(max.add(BigInteger.TWO), state.getBalance(addr));
+        state.push();
+        state.subtractBalance(addr, BigInteger.valueOf(3));
+        assertEquals(max.subtract(BigInteger.ONE), state.getBalance(addr));
+        state.addBalance(addr, BigInteger.TEN.pow(30));
+        state.pop();
+        assertEquals(max.add(BigInteger.TWO), state.getBalance(addr));
+        state.apply();
+        state.pop();
+        assertEquals(max.add(BigInteger.TWO), state.getBalance(addr));
+
+        state.subtractBalance(addr, max);
+        assertEquals(BigInteger.TWO, state.getBalance(addr));
+        var ex = assertThrows(OutOfBalanceException.class,
+                () -> state.subtractBalance(addr, BigInteger.TEN.pow(20)));
+        assertTrue(ex.getMessage().contains("balance=2,"));
+        assertEquals(BigInteger.TWO, state.getBalance(addr));
+    }
+
+    @Test
+    void tokenLedger() {
+        var state = new WorldState();
+        var a = Address.fromString("hx0000000000000000000000000000000000000001");
+        var b = Address.fromString("hx0000000000000000000000000000000000000002");
+        var c = Address.fromString("hx0000000000000000000000000000000000000003");
+        state.addTokenBalance(a, "AAA", BigInteger.valueOf(100));
+        state.addTokenBalance(b, "AAA", BigInteger.valueOf(300));
+        state.addTokenBalance(c, "AAA", BigInteger.valueOf(300));
+        state.addTokenBalance(a, "BBB", BigInteger.valueOf(7));
+        assertEquals(BigInteger.valueOf(700), state.getTokenSupply("AAA"));
+        assertEquals(BigInteger.valueOf(7), state.getTokenSupply("BBB"));
+        assertEquals(BigInteger.ZERO, state.getTokenSupply("CCC"));
+
+        state.push();
+        state.subtractTokenBalance(b, "AAA", BigInteger.valueOf(300));
+        state.addTokenBalance(a, "AAA", BigInteger.valueOf(300));
+        assertEquals(BigInteger.valueOf(400), state.getTokenBalance(a, "AAA"));
+        assertEquals(List.of(a, c), state.getTopTokenHolders("AAA", 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> state.subtractTokenBalance(b, "AAA", BigInteger.ONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> state.subtractTokenBalance(c, "BBB", BigInteger.ONE));
+        state.pop();
+
+        assertEquals(BigInteger.valueOf(100), state.getTokenBalance(a, "AAA"));
+        assertEquals(BigInteger.valueOf(300), state.getTokenBalance(b, "AAA"));
+        assertEquals(BigInteger.valueOf(700), state.getTokenSupply("AAA"));
+        assertEquals(List.of(b, c), state.getTopTokenHolders("AAA", 2));
+        assertEquals(List.of(b, c, a), state.getTopTokenHolders("AAA", 10));
+        assertEquals(List.of(), state.getTopTokenHolders("CCC", 10));
+
+        state.push();
+        state.subtractTokenBalance(c, "AAA", BigInteger.valueOf(250));
+        state.apply();
+        state.pop();
+        assertEquals(BigInteger.valueOf(450), state.getTokenSupply("AAA"));
+        assertEquals(List.of(b, a), state.getTopTokenHolders("AAA", 2));
+    }
+
+    @Test
+    void tokenBalanceOfAccount() {
+        var holders = sm.createAccounts(3, BigInteger.ZERO);
+        for (int i = 0; i < holders.size(); i++) {
+            holders.get(i).addBalance("TKN", BigInteger.valueOf(i + 1));
+        }
+        holders.get(0).subtractBalance("TKN", BigInteger.ONE);
+        assertEquals(BigInteger.ZERO, holders.get(0).getBalance("TKN"));
+        assertEquals(BigInteger.valueOf(5), sm.getTokenSupply("TKN"));
+        assertEquals(List.of(holders.get(2), holders.get(1)), sm.getTopTokenHolders("TKN", 5));
+    }
+
+    @Test
+    void blockClock() {
+        sm.setGenesisBlock(100, 1_000_000, 1_000);
+        var block = sm.getBlock();
+        assertEquals(100, block.getHeight());
+        assertEquals(1_000_000, block.getTimestamp());
+        block.increase(5);
+        assertEquals(105, sm.getBlock().getHeight());
+        assertEquals(1_005_000, sm.getBlock().getTimestamp());
+        sm.getBlock().advanceTo(10_000_105);
+        assertEquals(10_000_105, sm.getBlock().getHeight());
+        assertEquals(1_000_000 + 10_000_005L * 1_000, sm.getBlock().getTimestamp());
+        assertThrows(IllegalArgumentException.class, () -> sm.getBlock().advanceTo(10_000_105));
+
+        sm.setBlockSeed(7);
+        var height = sm.getBlock().getHeight();
+        var hash = sm.getBlock().hashOfTransactionAt(0);
+        sm.getBlock().increase(3);
+        sm.setBlockSeed(7);
+        assertEquals(height, sm.getBlock().getHeight());
+        assertArrayEquals(hash, sm.getBlock().hashOfTransactionAt(0));
+        sm.setGenesisBlock(0, 0, 2_000_000);
+    }
+
+    @Test
+    void blockHooks() {
+        sm.setGenesisBlock(10, 0, 2_000_000);
+        var calls = new ArrayList<Long>();
+        sm.addBlockHook(1_000_000, () -> calls.add(-sm.getBlock().getHeight()));
+        sm.addBlockHook(20, () -> calls.add(sm.getBlock().getHeight()));
+        sm.addBlockHook(15, () -> {
+            calls.add(sm.getBlock().getHeight());
+            assertEquals(5 * 2_000_000, sm.getBlock().getTimestamp());
+            assertThrows(IllegalStateException.class, () -> sm.getBlock().increase());
+        });
+        sm.addBlockHook(20, () -> calls.add(sm.getBlock().getTimestamp()));
+        assertThrows(IllegalArgumentException.class, () -> sm.addBlockHook(10, () -> {}));
+
+        sm.getBlock().increase(4);
+        assertEquals(List.of(), calls);
+        sm.getBlock().advanceTo(500_000);
+        assertEquals(List.of(15L, 20L, 20_000_000L), calls);
+        assertEquals(500_000, sm.getBlock().getHeight());
+        sm.getBlock().advanceTo(2_000_000);
+        assertEquals(List.of(15L, 20L, 20_000_000L, -1_000_000L), calls);
+
+        sm.addBlockHook(2_000_001, () -> calls.add(0L));
+        sm.setGenesisBlock(0, 0, 2_000_000);
+        sm.getBlock().advanceTo(3_000_000);
+        assertEquals(4, calls.size());
+
+        // timestamps of hooks are interpolated over the whole duration
+        sm.setGenesisBlock(0, 0, 2_000_000);
+        sm.addBlockHook(3, () -> calls.add(sm.getBlock().getTimestamp()));
+        ServiceManagerImpl.Block.next(4, 10);
+        assertEquals(7L, calls.get(4));
+        assertEquals(10, sm.getBlock().getTimestamp());
+        var e = assertThrows(IllegalArgumentException.class, () -> ServiceManagerImpl.Block.next(1, -5));
+        assertEquals("InvalidBlockDuration(duration=-5)", e.getMessage());
+        sm.setGenesisBlock(0, 0, 2_000_000);
+    }
+
+    @Test
+    void scheduleAt() throws Exception {
+        var owner = sm.createAccount();
+        var ticker = sm.deploy(owner, Ticker.class);
+        sm.setGenesisBlock(0, 0, 2_000_000);
+        var order = new ArrayList<String>();
+        sm.scheduleAt(5_000_000, () -> {
+            order.add("end");
+            ticker.invoke(owner, "tick");
+        });
+        sm.scheduleAt(1_000, () -> {
+            order.add("first");
+            assertEquals(1_000, sm.getBlock().getHeight());
+            ticker.invoke(owner, "tick");
+            ticker.invoke(owner, "tick");
+            assertEquals(2, (int) ticker.call("count"));
+            assertThrows(IllegalStateException.class, () -> sm.getBlock().increase());
+        });
+        sm.addBlockHook(1_000, () -> order.add("hook"));
+
+        sm.getBlock().advanceTo(4_000_000);
+        assertEquals(List.of("first", "hook"), order);
+        assertEquals(4_000_000, sm.getBlock().getHeight());
+        assertEquals(2, (int) ticker.call("count"));
+        assertEquals(1_000L, ticker.call("heightAt", 0));
+        assertEquals(1_000L, ticker.call("heightAt", 1));
+
+        ticker.invoke(owner, "tick");
+        assertEquals(4_000_001L, ticker.call("heightAt", 2));
+        sm.getBlock().increase(1_000_000);
+        assertEquals(List.of("first", "hook", "end"), order);
+        assertEquals(5_000_000L, ticker.call("heightAt", 3));
+        assertThrows(IllegalArgumentException.class, () -> sm.scheduleAt(10, () -> {}));
+
+        // a transaction in the block of scheduled actions follows them
+        var height = sm.getBlock().getHeight() + 1;
+        sm.scheduleAt(height, () -> {
+            ticker.invoke(owner, "tick");
+            ticker.invoke(owner, "tick");
+        });
+        ticker.invoke(owner, "tick");
+        for (int i = 4; i < 7; i++) {
+            assertEquals(height, ticker.call("heightAt", i));
+            assertEquals(i - 3, (int) ticker.call("indexAt", i));
+        }
+        sm.setGenesisBlock(0, 0, 2_000_000);
+    }
+
+    @Test
+    void hooksInLongJump() throws Exception {
+        var owner = sm.createAccount();
+        var ticker = sm.deploy(owner, Ticker.class);
+        sm.setGenesisBlock(0, 0, 2_000_000);
+        var timestamps = new ArrayList<Long>();
+        sm.addBlockHook(5_000_000, () -> timestamps.add(sm.getBlock().getTimestamp()));
+        sm.scheduleAt(7_000_000, () -> {
+            timestamps.add(sm.getBlock().getTimestamp());
+            ticker.invoke(owner, "tick");
+        });
+        sm.getBlock().advanceTo(10_000_000);
+        assertEquals(10_000_000, sm.getBlock().getHeight());
+        assertEquals(20_000_000_000_000L, sm.getBlock().getTimestamp());
+        assertEquals(List.of(10_000_000_000_000L, 14_000_000_000_000L), timestamps);
+        assertEquals(1, (int) ticker.call("count"));
+        assertEquals(7_000_000L, ticker.call("heightAt", 0));
+
+        // interpolation keeps the remainder of duration / delta
+        sm.setGenesisBlock(0, 0, 2_000_000);
+        sm.addBlockHook(9_999_999, () -> timestamps.add(sm.getBlock().getTimestamp()));
+        ServiceManagerImpl.Block.next(10_000_000, Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE / 10_000_000 * 9_999_999
+                + (Long.MAX_VALUE % 10_000_000) * 9_999_999 / 10_000_000, timestamps.get(2));
+        sm.setGenesisBlock(0, 0, 2_000_000);
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import org.junit.jupiter.api.Test;
+import score.Address;
+import score.Context;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressPoolTest {
+    private static byte[] raw(int seed) {
+        var ba = new byte[Address.LENGTH];
+        ba[0] = 1;
+        ba[Address.LENGTH - 2] = (byte) (seed >> 8);
+        ba[Address.LENGTH - 1] = (byte) seed;
+        return ba;
+    }
+
+    @Test
+    void equality() {
+        var a = new Address(raw(1));
+        var b = new Address(raw(1));
+        var c = new Address(raw(256));
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        // sum of bytes is the same, but bytes are different
+        assertEquals(a.hashCode(), c.hashCode());
+        assertNotEquals(a, c);
+        assertNotEquals(a, null);
+        assertNotEquals(a, "cx");
+        assertEquals(a, Address.fromString(a.toString()));
+    }
+
+    @Test
+    void intern() {
+        assertFalse(AddressPool.isEnabled());
+        var a = AddressPool.of(raw(1));
+        assertNotSame(a, AddressPool.of(raw(1)));
+        assertSame(a, TypeConverter.cast(a));
+        assertEquals(0, AddressPool.size());
+
+        AddressPool.enable();
+        try {
+            var b = AddressPool.of(raw(2));
+            assertSame(b, AddressPool.of(raw(2)));
+            assertSame(b, AddressPool.intern(new Address(raw(2))));
+
+            var w = Context.newByteArrayObjectWriter("RLPn");
+            w.write(new Address(raw(2)));
+            var r = Context.newByteArrayObjectReader("RLPn", w.toByteArray());
+            assertSame(b, r.readAddress());
+            assertSame(b, TypeConverter.fromBytes(Address.class, TypeConverter.toBytes(b)));
+            assertTrue(AddressPool.size() >= 1);
+        } finally {
+            AddressPool.disable();
+        }
+        assertFalse(AddressPool.isEnabled());
+        assertEquals(0, AddressPool.size());
+    }
+}
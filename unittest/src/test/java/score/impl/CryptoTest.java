@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.asn1.x9.X9IntegerConverter;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.rfc8032.Ed25519;
+import org.bouncycastle.util.BigIntegers;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CryptoTest {
+    private static String hex(byte[] ba) {
+        var sb = new StringBuilder();
+        for (var b : ba) {
+            sb.append(String.format("%02x", b & 0xff));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void hash() {
+        var abc = "abc".getBytes(StandardCharsets.UTF_8);
+        var cases = Map.of(
+                "sha-256", "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                "sha3-256", "3a985da74fe225b2045c172d6bd390bd855f086e3e9d525b46bfe24511431532",
+                "keccak-256", "4e03657aea45a94fc7d47ba826c8d667c0d1e6e33a64a036ec44f58fa12d6c45"
+        );
+        for (var e : cases.entrySet()) {
+            var alg = e.getKey();
+            // digests are reused
+            for (int i = 0; i < 2; i++) {
+                assertEquals(e.getValue(), hex(Crypto.hash(alg, abc)));
+            }
+
+            var heap = ByteBuffer.allocate(abc.length + 4);
+            heap.position(2);
+            heap.put(abc);
+            heap.position(2).limit(2 + abc.length);
+            assertEquals(e.getValue(), hex(Crypto.hash(alg, heap)));
+            assertFalse(heap.hasRemaining());
+
+            var direct = ByteBuffer.allocateDirect(abc.length);
+            direct.put(abc).flip();
+            assertEquals(e.getValue(), hex(Crypto.hash(alg, direct)));
+        }
+        assertEquals(cases.get("sha-256"), hex(Crypto.sha256(abc)));
+        assertEquals(cases.get("sha3-256"), hex(Crypto.sha3_256(abc)));
+        assertEquals(cases.get("keccak-256"), hex(Crypto.keccack256(abc)));
+        assertThrows(IllegalArgumentException.class,
+                () -> Crypto.hash("md5", ByteBuffer.wrap(abc)));
+    }
+
+    private static final int kSignatures = 8;
+
+    // returns {msg, sig, pk}
+    static byte[][] signSecp256k1(int seed) {
+        var params = CustomNamedCurves.getByName("secp256k1");
+        var domain = new ECDomainParameters(params.getCurve(), params.getG(), params.getN());
+        var key = BigInteger.valueOf(seed).add(BigInteger.TWO.pow(200));
+        var pk = params.getG().multiply(key).getEncoded(false);
+        var msg = Crypto.sha3_256(("message" + seed).getBytes(StandardCharsets.UTF_8));
+        var signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+        signer.init(true, new ECPrivateKeyParameters(key, domain));
+        var rs = signer.generateSignature(msg);
+        var sig = new byte[65];
+        BigIntegers.asUnsignedByteArray(rs[0], sig, 0, 32);
+        BigIntegers.asUnsignedByteArray(rs[1], sig, 32, 32);
+        for (byte v = 0; v < 2; v++) {
+            sig[64] = v;
+            if (Arrays.equals(pk, Crypto.recoverKey("ecdsa-secp256k1", msg, sig, false))) {
+                return new byte[][]{msg, sig, pk};
+            }
+        }
+        throw new AssertionError("no recovery id");
+    }
+
+    // returns {msg, sig, pk}
+    static byte[][] signEd25519(int seed) {
+        var sk = new byte[Ed25519.SECRET_KEY_SIZE];
+        sk[0] = (byte) seed;
+        var pk = new byte[Ed25519.PUBLIC_KEY_SIZE];
+        Ed25519.generatePublicKey(sk, 0, pk, 0);
+        var msg = ("message" + seed).getBytes(StandardCharsets.UTF_8);
+        var sig = new byte[Ed25519.SIGNATURE_SIZE];
+        Ed25519.sign(sk, 0, msg, 0, msg.length, sig, 0);
+        return new byte[][]{msg, sig, pk};
+    }
+
+    @Test
+    void verifySignatures() {
+        for (var alg : new String[]{"ecdsa-secp256k1", "ed25519"}) {
+            var msgs = new byte[kSignatures][];
+            var sigs = new byte[kSignatures][];
+            var pks = new byte[kSignatures][];
+            for (int i = 0; i < kSignatures; i++) {
+                var t = alg.equals("ed25519") ? signEd25519(i) : signSecp256k1(i);
+                msgs[i] = t[0];
+                sigs[i] = t[1];
+                pks[i] = t[2];
+            }
+            var results = Crypto.verifySignatures(alg, msgs, sigs, pks);
+            for (var r : results) {
+                assertTrue(r);
+            }
+
+            msgs[3] = msgs[3].clone();
+            msgs[3][0] ^= 1;
+            pks[5] = pks[6];
+            results = Crypto.verifySignatures(alg, msgs, sigs, pks);
+            for (int i = 0; i < kSignatures; i++) {
+                assertEquals(i != 3 && i != 5, results[i]);
+                assertEquals(Crypto.verifySignature(alg, msgs[i], sigs[i], pks[i]), results[i]);
+            }
+
+            assertEquals(0, Crypto.verifySignatures(alg, new byte[0][], new byte[0][], new byte[0][]).length);
+            assertThrows(IllegalArgumentException.class,
+                    () -> Crypto.verifySignatures(alg, msgs, sigs, new byte[1][]));
+        }
+        var sigs = new byte[][]{new byte[10]};
+        assertThrows(IllegalArgumentException.class,
+                () -> Crypto.verifySignatures("ed25519", sigs, sigs, sigs));
+    }
+
+    @Test
+    void signatureCache() {
+        var t0 = signSecp256k1(0);
+        var t1 = signSecp256k1(1);
+        var t2 = signSecp256k1(2);
+        var cache = Crypto.enableSignatureCache(2);
+        try {
+            var k0 = Crypto.recoverKey("ecdsa-secp256k1", t0[0], t0[1], false);
+            var again = Crypto.recoverKey("ecdsa-secp256k1", t0[0], t0[1], false);
+            assertArrayEquals(t0[2], again);
+            assertNotSame(k0, again);
+            assertEquals(1, cache.getHits());
+            assertEquals(1, cache.getMisses());
+
+            // compressed key is a different entry
+            assertEquals(33, Crypto.recoverKey("ecdsa-secp256k1", t0[0], t0[1], true).length);
+            assertEquals(2, cache.getMisses());
+
+            assertTrue(Crypto.verifySignature("ecdsa-secp256k1", t1[0], t1[1], t1[2]));
+            assertFalse(Crypto.verifySignature("ecdsa-secp256k1", t1[0], t1[1], t2[2]));
+            assertFalse(Crypto.verifySignature("ecdsa-secp256k1", t1[0], t1[1], t2[2]));
+            assertEquals(2, cache.getHits());
+            assertEquals(2, cache.size());
+
+            // least recently used entries are evicted
+            Crypto.recoverKey("ecdsa-secp256k1", t0[0], t0[1], false);
+            assertEquals(5, cache.getMisses());
+
+            // failures are not cached
+            var bad = t2[1].clone();
+            bad[64] = 7;
+            assertThrows(IllegalArgumentException.class,
+                    () -> Crypto.recoverKey("ecdsa-secp256k1", t2[0], bad, false));
+            assertEquals(2, cache.size());
+
+            cache.clear();
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.getHits());
+        } finally {
+            Crypto.disableSignatureCache();
+        }
+        assertNull(Crypto.getSignatureCache());
+    }
+
+    // previous implementation of recovery with the check of n * R
+    private static byte[] referenceRecoverKey(byte[] msg, byte[] sig, boolean compressed) {
+        var params = CustomNamedCurves.getByName("secp256k1");
+        var n = params.getN();
+        var r = BigIntegers.fromUnsignedByteArray(sig, 0, 32);
+        var s = BigIntegers.fromUnsignedByteArray(sig, 32, 32);
+        int recId = sig[64];
+        var x = r.add(BigInteger.valueOf(recId / 2).multiply(n));
+        if (x.compareTo(params.getCurve().getField().getCharacteristic()) >= 0) {
+            return null;
+        }
+        var x9 = new X9IntegerConverter();
+        var enc = x9.integerToBytes(x, 1 + x9.getByteLength(params.getCurve()));
+        enc[0] = (byte) ((recId & 1) == 1 ? 0x03 : 0x02);
+        var point = params.getCurve().decodePoint(enc);
+        if (!point.multiply(n).isInfinity()) {
+            return null;
+        }
+        var e = new BigInteger(1, msg);
+        var eInv = BigInteger.ZERO.subtract(e).mod(n);
+        var rInv = r.modInverse(n);
+        var q = ECAlgorithms.sumOfTwoMultiplies(params.getG(), rInv.multiply(eInv).mod(n),
+                point, rInv.multiply(s).mod(n));
+        return q.getEncoded(compressed);
+    }
+
+    @Test
+    void recoverKeyDifferential() {
+        for (int seed = 0; seed < 32; seed++) {
+            var t = signSecp256k1(seed);
+            var sig = t[1].clone();
+            for (byte recId = 0; recId < 4; recId++) {
+                sig[64] = recId;
+                for (var compressed : new boolean[]{false, true}) {
+                    var exp = referenceRecoverKey(t[0], sig, compressed);
+                    if (exp == null) {
+                        assertThrows(IllegalArgumentException.class,
+                                () -> Crypto.recoverKey("ecdsa-secp256k1", t[0], sig, compressed));
+                    } else {
+                        assertArrayEquals(exp, Crypto.recoverKey("ecdsa-secp256k1", t[0], sig, compressed));
+                    }
+                }
+            }
+        }
+    }
+}
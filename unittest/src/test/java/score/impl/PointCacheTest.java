@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package score.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointCacheTest {
+    @Test
+    void cache() {
+        var decodes = new AtomicInteger();
+        var checks = new AtomicInteger();
+        var cache = new PointCache<BigInteger>(bs -> {
+            decodes.incrementAndGet();
+            if (bs.length == 0) {
+                throw new IllegalArgumentException("empty");
+            }
+            return new BigInteger(1, bs);
+        }, v -> {
+            checks.incrementAndGet();
+            return !v.testBit(0);
+        });
+        cache.setCapacity(2);
+
+        var buf = new byte[]{2};
+        assertEquals(BigInteger.TWO, cache.getInGroup(buf));
+        // key is copied
+        buf[0] = 3;
+        assertNull(cache.getInGroup(buf));
+        assertNull(cache.getInGroup(new byte[]{3}));
+        assertEquals(BigInteger.valueOf(3), cache.get(new byte[]{3}));
+        assertEquals(BigInteger.TWO, cache.getInGroup(new byte[]{2}));
+        assertEquals(2, decodes.get());
+        assertEquals(2, checks.get());
+        assertEquals(3, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0.6, cache.getHitRate(), 1e-9);
+
+        // least recently used entry (3) is evicted
+        cache.get(new byte[]{4});
+        cache.get(new byte[]{3});
+        assertEquals(4, decodes.get());
+        assertEquals(2, cache.size());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get(new byte[0]));
+        assertEquals(2, cache.size());
+
+        cache.setCapacity(1);
+        assertEquals(1, cache.size());
+        cache.setCapacity(0);
+        assertEquals(0, cache.size());
+        cache.get(new byte[]{3});
+        cache.get(new byte[]{3});
+        assertEquals(7, decodes.get());
+
+        cache.clear();
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getHitRate());
+    }
+
+    @Test
+    void secp256k1Keys() {
+        var t = CryptoTest.signSecp256k1(1);
+        var compressed = Crypto.recoverKey("ecdsa-secp256k1", t[0], t[1], true);
+        var cache = Crypto.getSecp256k1PointCache();
+        assertEquals(0, cache.getCapacity());
+        var addr = Crypto.getAddressBytesFromKey(compressed);
+        assertEquals(0, cache.getHits());
+        cache.setCapacity(PointCache.DEFAULT_CAPACITY);
+        try {
+            assertArrayEquals(addr, Crypto.getAddressBytesFromKey(compressed));
+            assertArrayEquals(addr, Crypto.getAddressBytesFromKey(compressed));
+            assertArrayEquals(addr, Crypto.getAddressBytesFromKey(t[2]));
+            assertEquals(1, cache.getHits());
+        } finally {
+            cache.setCapacity(0);
+            cache.clear();
+        }
+    }
+}
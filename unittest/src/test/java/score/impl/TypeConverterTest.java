@@ -52,6 +52,36 @@ class TypeConverterTest {
         }
     }
 
+    @Test
+    void integerBytes() {
+        var values = new long[] {
+                0, 1, -1, 127, 128, 255, 256, -128, -129, 32767, 32768, -32768, -32769,
+                Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L,
+                Long.MAX_VALUE, Long.MIN_VALUE
+        };
+        for (var v : values) {
+            var exp = BigInteger.valueOf(v).toByteArray();
+            assertArrayEquals(exp, TypeConverter.toBytes(v));
+            assertEquals(v, TypeConverter.fromBytes(Long.class, exp));
+            if (v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE) {
+                assertArrayEquals(exp, TypeConverter.toBytes((int) v));
+                assertEquals((int) v, TypeConverter.fromBytes(Integer.class, exp));
+            } else {
+                assertThrows(ArithmeticException.class,
+                        () -> TypeConverter.fromBytes(Integer.class, exp));
+            }
+        }
+        assertArrayEquals(new byte[]{0x00, (byte) 0xff}, TypeConverter.toBytes('\u00ff'));
+        assertEquals((short) -2, TypeConverter.fromBytes(Short.class, new byte[]{(byte) 0xfe}));
+        assertEquals(1L, TypeConverter.fromBytes(Long.class, new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 1}));
+        assertThrows(ArithmeticException.class,
+                () -> TypeConverter.fromBytes(Byte.class, new byte[]{0x00, (byte) 0x80}));
+        assertThrows(ArithmeticException.class,
+                () -> TypeConverter.fromBytes(Character.class, new byte[]{(byte) 0xff}));
+        assertThrows(NumberFormatException.class,
+                () -> TypeConverter.fromBytes(Integer.class, new byte[0]));
+    }
+
     @Test
     void normalizeList() {
         var cases = new Object[] {
@@ -131,6 +161,68 @@ class TypeConverterTest {
         }
     }
 
+    public static class NoCodecObject {
+        public int value;
+    }
+
+    @Test
+    void objectStoreWithoutCodec() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> TypeConverter.toBytes(new NoCodecObject()));
+            assertThrows(IllegalArgumentException.class,
+                    () -> TypeConverter.fromBytes(NoCodecObject.class, new byte[]{(byte) 0xc0}));
+        }
+    }
+
+    public static class TestStruct {
+        public int intValue;
+        private String name;
+        private boolean flag;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isFlag() {
+            return flag;
+        }
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void struct() {
+        var value = new TestStruct();
+        value.intValue = 7;
+        value.setName("test");
+        value.setFlag(true);
+
+        for (int i = 0; i < 2; i++) {
+            var map = (Map<String, Object>) TypeConverter.cast(value);
+            assertEquals(List.of("flag", "intValue", "name"), List.copyOf(map.keySet()));
+            assertEquals(Boolean.TRUE, map.get("flag"));
+            assertEquals(BigInteger.valueOf(7), map.get("intValue"));
+            assertEquals("test", map.get("name"));
+
+            var real = TypeConverter.cast(value, TestStruct.class);
+            assertEquals(7, real.intValue);
+            assertEquals("test", real.getName());
+            assertTrue(real.isFlag());
+        }
+
+        var unknown = Map.of("unknown", BigInteger.ONE);
+        assertThrows(IllegalArgumentException.class,
+                () -> TypeConverter.cast(unknown, TestStruct.class));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void arrayTo() {
@@ -147,4 +239,91 @@ class TypeConverterTest {
             idx+=1;
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void primitiveArrayTo() {
+        var value = new int[]{ 1, -2, 3};
+
+        var same = TypeConverter.cast(value, int[].class);
+        assertArrayEquals(value, same);
+        assertNotSame(value, same);
+
+        assertArrayEquals(new short[]{ 1, -2, 3}, TypeConverter.cast(value, short[].class));
+        assertArrayEquals(new int[]{ 1, -2, 3}, TypeConverter.cast(new long[]{ 1, -2, 3}, int[].class));
+        assertArrayEquals(new long[]{ 'a', 'b'}, TypeConverter.cast(new char[]{ 'a', 'b'}, long[].class));
+        assertArrayEquals(new byte[]{ 1, -2, 3}, TypeConverter.cast(value, byte[].class));
+        assertArrayEquals(new BigInteger[]{ BigInteger.ONE, BigInteger.valueOf(-2), BigInteger.valueOf(3)},
+                TypeConverter.cast(value, BigInteger[].class));
+
+        assertThrows(ArithmeticException.class,
+                () -> TypeConverter.cast(new int[]{ Short.MAX_VALUE+1 }, short[].class));
+        assertThrows(ArithmeticException.class,
+                () -> TypeConverter.cast(new long[]{ Integer.MIN_VALUE-1L }, int[].class));
+        assertThrows(ArithmeticException.class,
+                () -> TypeConverter.cast(value, char[].class));
+
+        var nested = TypeConverter.cast(List.of(new int[]{ 1, 2 }, new int[]{ 3 }), long[][].class);
+        assertArrayEquals(new long[][]{ { 1, 2 }, { 3 } }, nested);
+    }
+
+    @Test
+    void primitiveArrayInEventObjects() {
+        var objs = TypeConverter.asEventObjects(new Object[]{
+                new int[]{ 1, -2 },
+                List.of(new long[]{ 3 }),
+                new boolean[]{ true },
+        });
+        assertArrayEquals(new Object[]{ BigInteger.ONE, BigInteger.valueOf(-2) }, (Object[]) objs[0]);
+        var list = (Object[]) objs[1];
+        assertArrayEquals(new Object[]{ BigInteger.valueOf(3) }, (Object[]) list[0]);
+        assertArrayEquals(new Object[]{ true }, (Object[]) objs[2]);
+
+        var ret = (Map<?, ?>) TypeConverter.cast(Map.of("v", new int[]{ 5 }));
+        assertEquals(List.of(BigInteger.valueOf(5)), ret.get("v"));
+    }
+
+    public static class Wrapper {
+        public final String name;
+
+        public Wrapper(String name) {
+            this.name = name;
+        }
+
+        public static void writeObject(ObjectWriter w, Wrapper v) {
+            w.beginList(2);
+            w.write(v.name);
+            if (v.name.endsWith("/")) {
+                w.write(new byte[0]);
+            } else {
+                // nested conversion while the outer one is in progress
+                w.write(TypeConverter.toBytes(new Wrapper(v.name + "/")));
+            }
+            w.end();
+        }
+
+        public static Wrapper readObject(ObjectReader r) {
+            r.beginList();
+            var name = r.readString();
+            var inner = r.readByteArray();
+            if (inner.length > 0) {
+                var nested = TypeConverter.fromBytes(Wrapper.class, inner);
+                assertEquals(name + "/", nested.name);
+            }
+            r.end();
+            return new Wrapper(name);
+        }
+    }
+
+    @Test
+    void objectReuse() {
+        var first = TypeConverter.toBytes(new Wrapper("a"));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> TypeConverter.toBytes(new NoCodecObject()));
+            var bs = TypeConverter.toBytes(new Wrapper("a"));
+            assertArrayEquals(first, bs);
+            var v = TypeConverter.fromBytes(Wrapper.class, bs);
+            assertEquals("a", v.name);
+        }
+    }
+}